@@ -0,0 +1,84 @@
+package com.example.oa.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Immutable column-oriented copy of the orders, sorted by order date.
+ *
+ * One primitive array per column instead of one object per order: an aggregation touches only
+ * the columns it needs, scans them sequentially and allocates nothing per row. Dates are epoch
+ * seconds (order dates are UTC), statuses OrderStatus ordinals and amounts minor units (cents).
+ */
+final class OrderColumns {
+
+    static final OrderColumns EMPTY = new Builder().build(0);
+
+    final long[] orderDate;
+    final byte[] status;
+    final long[] amountMinor;
+    final long[] customerId;
+    final int size;
+    final long loadedAt;
+
+    private OrderColumns(long[] orderDate, byte[] status, long[] amountMinor, long[] customerId, int size,
+                         long loadedAt) {
+        this.orderDate = orderDate;
+        this.status = status;
+        this.amountMinor = amountMinor;
+        this.customerId = customerId;
+        this.size = size;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * @return index of the first row dated at or after epochSecond (size if there is none)
+     */
+    int lowerBound(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderDate[mid] < epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Appends rows in order date order; the arrays grow by half when full.
+     */
+    static final class Builder {
+
+        private long[] orderDate = new long[1024];
+        private byte[] status = new byte[1024];
+        private long[] amountMinor = new long[1024];
+        private long[] customerId = new long[1024];
+        private int size;
+
+        void add(long orderDate, int status, long amountMinor, long customerId) {
+            if (size == this.orderDate.length) {
+                int capacity = size + (size >> 1);
+                this.orderDate = Arrays.copyOf(this.orderDate, capacity);
+                this.status = Arrays.copyOf(this.status, capacity);
+                this.amountMinor = Arrays.copyOf(this.amountMinor, capacity);
+                this.customerId = Arrays.copyOf(this.customerId, capacity);
+            }
+            if (size > 0 && orderDate < this.orderDate[size - 1]) {
+                throw new IllegalArgumentException("Rows must be added in order date order");
+            }
+            this.orderDate[size] = orderDate;
+            this.status[size] = (byte) status;
+            this.amountMinor[size] = amountMinor;
+            this.customerId[size] = customerId;
+            size++;
+        }
+
+        OrderColumns build(long loadedAt) {
+            return new OrderColumns(Arrays.copyOf(orderDate, size), Arrays.copyOf(status, size),
+                    Arrays.copyOf(amountMinor, size), Arrays.copyOf(customerId, size), size, loadedAt);
+        }
+    }
+}
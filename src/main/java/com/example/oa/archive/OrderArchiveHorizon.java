@@ -0,0 +1,74 @@
+package com.example.oa.archive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the latest order date held in orders_archive.
+ *
+ * Queries whose date range starts after the horizon cannot match archived orders and skip
+ * the archive entirely. The value is read from the database on first use and again once it is
+ * older than {@code oa.archive.horizon-ttl}, so orders archived by other instances (or with
+ * plain SQL) become visible within that time; the local OrderArchiver advances it immediately.
+ * Lookups by id do not consult the horizon.
+ */
+@Component
+public class OrderArchiveHorizon {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${oa.archive.horizon-ttl:30s}")
+    private Duration ttl;
+
+    // System.nanoTime() after which the value is re-read; 0 until the first read
+    private volatile long expiresAt;
+    private volatile boolean loaded;
+    private volatile LocalDateTime latestOrderDate;
+
+    /**
+     * @return the latest archived order date, or null if the archive is empty
+     */
+    public LocalDateTime getLatestOrderDate() {
+        if (!loaded || System.nanoTime() - expiresAt > 0) {
+            synchronized (this) {
+                if (!loaded || System.nanoTime() - expiresAt > 0) {
+                    Timestamp max = jdbcTemplate.queryForObject(
+                            "SELECT MAX(order_date) FROM orders_archive", Timestamp.class);
+                    latestOrderDate = max == null ? null : max.toLocalDateTime();
+                    expiresAt = System.nanoTime() + ttl.toNanos();
+                    loaded = true;
+                }
+            }
+        }
+        return latestOrderDate;
+    }
+
+    /**
+     * @return true if archived orders can fall in a range starting at startDate (null = unbounded)
+     */
+    public boolean reaches(LocalDateTime startDate) {
+        LocalDateTime latest = getLatestOrderDate();
+        return latest != null && (startDate == null || !startDate.isAfter(latest));
+    }
+
+    public synchronized void advanceTo(LocalDateTime orderDate) {
+        LocalDateTime latest = getLatestOrderDate();
+        if (latest == null || orderDate.isAfter(latest)) {
+            latestOrderDate = orderDate;
+        }
+    }
+
+    /**
+     * Forces a re-read, e.g. after the archive was changed with plain SQL.
+     */
+    public synchronized void reset() {
+        loaded = false;
+    }
+}
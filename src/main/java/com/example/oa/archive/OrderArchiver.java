@@ -0,0 +1,125 @@
+package com.example.oa.archive;
+
+import com.example.oa.event.OrdersRewrittenEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves terminal orders (DELIVERED, CANCELLED) older than {@code oa.archive.min-age} from
+ * orders into orders_archive.
+ *
+ * Terminal orders never change again, so they can leave the live table without affecting
+ * writes. Each chunk of {@code oa.archive.chunk-size} orders is copied and deleted in its own
+ * short transaction, so the job never holds locks on many rows at once. The ids of each committed
+ * chunk are published as an {@link OrdersRewrittenEvent}.
+ *
+ * Enabled with {@code oa.archive.enabled=true}. Metric: oa.archive.orders.moved.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oa.archive", name = "enabled", havingValue = "true")
+public class OrderArchiver {
+
+    private static final String SELECT_SQL = "SELECT id FROM orders "
+            + "WHERE status IN ('DELIVERED', 'CANCELLED') AND order_date < :cutoff ORDER BY order_date LIMIT :limit";
+    private static final String COPY_SQL = "INSERT INTO orders_archive "
+            + "(id, customer_id, customer_name, order_date, status, total_amount, archived_at) "
+            + "SELECT id, customer_id, customer_name, order_date, status, total_amount, :archivedAt "
+            + "FROM orders WHERE id IN (:ids)";
+    private static final String LATEST_SQL = "SELECT MAX(order_date) FROM orders WHERE id IN (:ids)";
+    private static final String DELETE_SQL = "DELETE FROM orders WHERE id IN (:ids)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderArchiveHorizon horizon;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.archive.min-age:90d}")
+    private Duration minAge;
+
+    @Value("${oa.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    private Counter moved;
+
+    @PostConstruct
+    public void init() {
+        moved = Counter.builder("oa.archive.orders.moved")
+                .description("Terminal orders moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${oa.archive.interval-ms:3600000}")
+    public void run() {
+        archive(LocalDateTime.now().minus(minAge));
+    }
+
+    /**
+     * Archives all terminal orders dated before the cutoff.
+     *
+     * @return number of orders moved
+     */
+    public int archive(LocalDateTime cutoff) {
+        int total = 0;
+        int count;
+        do {
+            count = archiveChunk(cutoff);
+            total += count;
+        } while (count == chunkSize);
+        if (total > 0) {
+            log.info("Archived {} terminal orders dated before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> archived = transactionTemplate.execute(tx -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_SQL, new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("limit", chunkSize), Long.class);
+            if (ids.isEmpty()) {
+                return ids;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.update(COPY_SQL, params);
+            Timestamp latest = jdbcTemplate.queryForObject(LATEST_SQL, params, Timestamp.class);
+            jdbcTemplate.update(DELETE_SQL, params);
+            // Advance before commit: once the rows leave orders, queries must already look at the archive
+            horizon.advanceTo(latest.toLocalDateTime());
+            return ids;
+        });
+        if (!archived.isEmpty()) {
+            eventPublisher.publishEvent(new OrdersRewrittenEvent(archived));
+        }
+        moved.increment(archived.size());
+        return archived.size();
+    }
+}
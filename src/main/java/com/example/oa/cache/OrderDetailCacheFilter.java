@@ -0,0 +1,119 @@
+package com.example.oa.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves GET /api/orders/{id} from pre-serialized JSON bytes.
+ *
+ * This filter is provided as part of the skeleton infrastructure. On a miss the request runs
+ * through the controller as usual and a 200 JSON body is captured into OrderResponseByteCache;
+ * on a hit the cached bytes are written straight to the response, skipping the database,
+ * MapStruct and Jackson. The X-Cache header reports HIT or MISS.
+ *
+ * Only plain JSON reads are cached: requests with query parameters (e.g. fields) or asking for
+ * CBOR/Smile always go through the controller.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oa.orders.response-cache", name = "enabled", havingValue = "true")
+public class OrderDetailCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    private static final Pattern ORDER_DETAIL_PATH = Pattern.compile("/api/orders/(\\d{1,19})");
+
+    @Autowired
+    private OrderResponseByteCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !acceptsPlainJson(request.getHeader(HttpHeaders.ACCEPT))
+                || orderId(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long orderId = orderId(request);
+
+        OrderResponseByteCache.CachedResponse cached = responseCache.get(orderId);
+        if (cached != null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.setHeader(CACHE_HEADER, "HIT");
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        long stamp = responseCache.stamp(orderId);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpStatus.OK.value() && isJson(wrapper.getContentType())) {
+                responseCache.put(orderId, stamp, wrapper.getContentAsByteArray(), wrapper.getContentType());
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private Long orderId(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = ORDER_DETAIL_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(matcher.group(1));
+        } catch (NumberFormatException ex) {
+            // 19 digits beyond Long.MAX_VALUE: left to the controller
+            return null;
+        }
+    }
+
+    private static boolean acceptsPlainJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream().anyMatch(type -> type.includes(MediaType.APPLICATION_JSON))
+                    && mediaTypes.stream().noneMatch(type -> type.getSubtype().contains("cbor")
+                            || type.getSubtype().contains("smile"));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+}
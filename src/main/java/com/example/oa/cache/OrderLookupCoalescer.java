@@ -0,0 +1,86 @@
+package com.example.oa.cache;
+
+import com.example.oa.dto.OrderResponse;
+import com.example.oa.event.OrderChangedEvent;
+import com.example.oa.exception.ResourceNotFoundException;
+import com.example.oa.mapper.OrderMapper;
+import com.example.oa.repository.OrderRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Coalesces concurrent lookups of the same order into one database load.
+ *
+ * This component is provided as part of the skeleton infrastructure. When many clients poll
+ * the same order, {@link #getOrder(Long)} runs one SELECT + mapping and hands the same
+ * OrderResponse to every caller that arrives while it runs or within the coalescing window
+ * ({@code oa.orders.lookup.coalescing-window}). The shared response must be treated as read-only.
+ *
+ * Committed order changes (e.g. from updateOrderStatus or cancelOrder) drop the shared
+ * result through {@link OrderChangedEvent}, so later lookups never see the old state.
+ *
+ * Metrics: oa.order.lookup.requests, oa.order.lookup.loads, oa.order.lookup.dedup.ratio.
+ */
+@Component
+public class OrderLookupCoalescer {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.orders.lookup.coalescing-window:50ms}")
+    private Duration coalescingWindow;
+
+    private SingleFlight<Long, OrderResponse> lookups;
+
+    @PostConstruct
+    public void init() {
+        lookups = new SingleFlight<>(coalescingWindow);
+        FunctionCounter.builder("oa.order.lookup.requests", lookups, SingleFlight::getRequestCount)
+                .description("Order lookups requested")
+                .register(meterRegistry);
+        FunctionCounter.builder("oa.order.lookup.loads", lookups, SingleFlight::getLoadCount)
+                .description("Order lookups that hit the database")
+                .register(meterRegistry);
+        Gauge.builder("oa.order.lookup.dedup.ratio", lookups, OrderLookupCoalescer::dedupRatio)
+                .description("Share of order lookups served by a coalesced load")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the order does not exist
+     */
+    public OrderResponse getOrder(Long id) {
+        return lookups.execute(id, () -> orderRepository.findById(id)
+                .or(() -> orderRepository.findArchivedById(id))
+                .map(orderMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", id)));
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        lookups.forget(event.getOrderId());
+    }
+
+    SingleFlight<Long, OrderResponse> getLookups() {
+        return lookups;
+    }
+
+    private static double dedupRatio(SingleFlight<?, ?> lookups) {
+        long requests = lookups.getRequestCount();
+        return requests == 0 ? 0.0 : 1.0 - (double) lookups.getLoadCount() / requests;
+    }
+}
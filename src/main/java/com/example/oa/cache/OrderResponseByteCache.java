@@ -0,0 +1,128 @@
+package com.example.oa.cache;
+
+import com.example.oa.event.OrderChangedEvent;
+import com.example.oa.event.OrdersRewrittenEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded cache of serialized order detail responses (JSON bytes per order id).
+ *
+ * This component is provided as part of the skeleton infrastructure and is used by
+ * OrderDetailCacheFilter. Entries are weighed by their byte size and evicted by Caffeine's
+ * W-TinyLFU policy once {@code oa.orders.response-cache.maximum-size} is reached; every entry
+ * expires {@code oa.orders.response-cache.expire-after-write} after it was cached.
+ *
+ * Every committed order change ({@link OrderChangedEvent}) bumps the order's version stamp and
+ * drops its entry. A response rendered while a change commits is detected through the stamp and
+ * never stays cached, so readers never get bytes older than the last committed write. Orders
+ * rewritten with plain SQL ({@link OrdersRewrittenEvent}, e.g. by the archiver) are dropped the
+ * same way. Other plain SQL or JPQL bulk writes publish neither event; they become visible
+ * once the entry expires.
+ *
+ * Metrics: cache.gets / cache.puts / cache.evictions with tag cache=orderDetailJson.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oa.orders.response-cache", name = "enabled", havingValue = "true")
+public class OrderResponseByteCache {
+
+    /** Rough per-entry overhead (key, node, array header) added to the weight. */
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int STAMP_SLOTS = 4096;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.orders.response-cache.maximum-size:64MB}")
+    private DataSize maximumSize;
+
+    @Value("${oa.orders.response-cache.expire-after-write:30s}")
+    private Duration expireAfterWrite;
+
+    private Cache<Long, CachedResponse> cache;
+
+    // Striped version stamps; a collision only causes an extra miss
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_SLOTS);
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Long id, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orderDetailJson");
+    }
+
+    public CachedResponse get(Long orderId) {
+        return cache.getIfPresent(orderId);
+    }
+
+    /**
+     * Version stamp to read before rendering a response and hand back to {@link #put}.
+     */
+    public long stamp(Long orderId) {
+        return stamps.get(slot(orderId));
+    }
+
+    /**
+     * Caches a rendered response unless the order changed since {@code stamp} was read.
+     */
+    public void put(Long orderId, long stamp, byte[] body, String contentType) {
+        if (stamps.get(slot(orderId)) != stamp) {
+            return;
+        }
+        CachedResponse response = new CachedResponse(body, contentType);
+        cache.put(orderId, response);
+        // A change may have committed between the check and the put
+        if (stamps.get(slot(orderId)) != stamp) {
+            cache.asMap().remove(orderId, response);
+        }
+    }
+
+    public void invalidate(Long orderId) {
+        stamps.incrementAndGet(slot(orderId));
+        cache.invalidate(orderId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STAMP_SLOTS; i++) {
+            stamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        invalidate(event.getOrderId());
+    }
+
+    @EventListener
+    public void onOrdersRewritten(OrdersRewrittenEvent event) {
+        event.getOrderIds().forEach(this::invalidate);
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static int slot(Long orderId) {
+        return Long.hashCode(orderId) & (STAMP_SLOTS - 1);
+    }
+
+    public record CachedResponse(byte[] body, String contentType) {
+    }
+}
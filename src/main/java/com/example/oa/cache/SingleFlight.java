@@ -0,0 +1,136 @@
+package com.example.oa.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent loads of the same key ("single flight").
+ *
+ * The first caller for a key runs the loader; callers arriving while it runs wait for and
+ * share its result (or exception). After completion the result keeps being shared for a short
+ * coalescing window, which absorbs bursts of polls that arrive just after a load finished.
+ *
+ * {@link #forget(Object)} drops the shared call for a key, so the next caller loads fresh data.
+ * Callers already waiting on an in-flight load still receive its result.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class SingleFlight<K, V> {
+
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public SingleFlight(Duration coalescingWindow) {
+        this.windowNanos = coalescingWindow.toNanos();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        requests.increment();
+        if (requests.sum() % SWEEP_INTERVAL == 0) {
+            sweepExpired();
+        }
+        while (true) {
+            Call<V> existing = calls.get(key);
+            if (existing != null) {
+                if (!existing.isExpired(System.nanoTime(), windowNanos)) {
+                    return existing.await();
+                }
+                calls.remove(key, existing);
+            }
+
+            Call<V> call = new Call<>();
+            if (calls.putIfAbsent(key, call) != null) {
+                continue;  // lost the race, join the winner's call
+            }
+            return load(key, call, loader);
+        }
+    }
+
+    /**
+     * Drops the shared call for a key, e.g. after the underlying data changed.
+     */
+    public void forget(K key) {
+        calls.remove(key);
+    }
+
+    /** Number of execute() calls. */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /** Number of loader invocations; requests - loads were served by a shared call. */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /** Calls currently held (in flight or within their coalescing window). */
+    public int size() {
+        return calls.size();
+    }
+
+    private V load(K key, Call<V> call, Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            if (windowNanos == 0) {
+                calls.remove(key, call);
+            }
+            return value;
+        } catch (RuntimeException | Error ex) {
+            // Failures are shared with current waiters but never cached
+            call.fail(ex);
+            calls.remove(key, call);
+            throw ex;
+        }
+    }
+
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        calls.entrySet().removeIf(entry -> entry.getValue().isExpired(now, windowNanos));
+    }
+
+    private static final class Call<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completedAt;
+        private volatile boolean completed;
+
+        void complete(V value) {
+            completedAt = System.nanoTime();
+            completed = true;
+            future.complete(value);
+        }
+
+        void fail(Throwable ex) {
+            future.completeExceptionally(ex);
+        }
+
+        boolean isExpired(long now, long windowNanos) {
+            return completed && now - completedAt >= windowNanos;
+        }
+
+        V await() {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+    }
+}
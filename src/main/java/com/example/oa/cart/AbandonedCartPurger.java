@@ -0,0 +1,121 @@
+package com.example.oa.cart;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes open cart lines (order_id NULL) not updated within {@code oa.cart.expiry.ttl}.
+ *
+ * Abandoned lines would otherwise pile up and slow down every read of the open cart. Lines
+ * are found through the (order_id, updated_at) index and deleted in chunks of
+ * {@code oa.cart.expiry.chunk-size}, each in its own short transaction, so the job never
+ * holds locks on many rows at once. The cart totals are recomputed after lines were purged.
+ *
+ * Enabled with {@code oa.cart.expiry.enabled=true} (jpa store; the memory store expires idle
+ * lines itself). Metrics: oa.cart.expiry.purged, oa.cart.expiry.purge (run latency).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oa.cart.expiry", name = "enabled", havingValue = "true")
+public class AbandonedCartPurger {
+
+    private static final String SELECT_SQL = "SELECT id FROM cart_items "
+            + "WHERE order_id IS NULL AND updated_at < :cutoff ORDER BY updated_at LIMIT :limit";
+    // Re-checked on delete: a line may have been updated or checked out since it was selected
+    private static final String DELETE_SQL = "DELETE FROM cart_items "
+            + "WHERE id IN (:ids) AND order_id IS NULL AND updated_at < :cutoff";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.cart.expiry.ttl:30d}")
+    private Duration ttl;
+
+    @Value("${oa.cart.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    private Counter purged;
+    private Timer purgeTimer;
+
+    @PostConstruct
+    public void init() {
+        purged = Counter.builder("oa.cart.expiry.purged")
+                .description("Abandoned open cart lines deleted")
+                .register(meterRegistry);
+        purgeTimer = Timer.builder("oa.cart.expiry.purge")
+                .description("Duration of abandoned cart purge runs")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${oa.cart.expiry.interval-ms:600000}")
+    public void run() {
+        purge(LocalDateTime.now().minus(ttl));
+    }
+
+    /**
+     * Deletes all open lines last updated before the cutoff.
+     *
+     * @return number of lines deleted
+     */
+    public int purge(LocalDateTime cutoff) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        try {
+            Chunk chunk;
+            do {
+                chunk = purgeChunk(cutoff);
+                total += chunk.deleted();
+            } while (chunk.selected() == chunkSize);
+        } finally {
+            sample.stop(purgeTimer);
+        }
+        if (total > 0) {
+            cartTotals.recompute();
+            log.info("Purged {} open cart lines last updated before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private record Chunk(int selected, int deleted) {
+    }
+
+    private Chunk purgeChunk(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", chunkSize);
+        Chunk chunk = transactionTemplate.execute(tx -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_SQL, params, Long.class);
+            if (ids.isEmpty()) {
+                return new Chunk(0, 0);
+            }
+            return new Chunk(ids.size(), jdbcTemplate.update(DELETE_SQL, params.addValue("ids", ids)));
+        });
+        purged.increment(chunk.deleted());
+        return chunk;
+    }
+}
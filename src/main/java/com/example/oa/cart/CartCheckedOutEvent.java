@@ -0,0 +1,13 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+
+import java.util.List;
+
+/**
+ * Published by the CartStore implementations when checkout links the open lines to an order.
+ * Published inside the checkout transaction; listen with a transactional event listener to
+ * only see committed checkouts.
+ */
+public record CartCheckedOutEvent(Long orderId, List<CartItem> items) {
+}
@@ -0,0 +1,19 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+
+/**
+ * Compact, immutable open cart line as held by InMemoryCartStore (and in its snapshots)
+ * and by WriteBehindCartStore for unflushed updates.
+ */
+record CartLine(long id, long productId, String productName, int quantity, double price) {
+
+    static CartLine of(CartItem item) {
+        return new CartLine(item.getId(), item.getProductId(), item.getProductName(),
+                item.getQuantity(), item.getPrice());
+    }
+
+    CartItem toCartItem() {
+        return new CartItem(id, null, productId, quantity, price, productName);
+    }
+}
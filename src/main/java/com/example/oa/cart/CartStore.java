@@ -0,0 +1,44 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of open cart lines (cart items not yet linked to an order).
+ *
+ * This interface is provided as part of the skeleton infrastructure for Tasks 1-4 and 13.
+ * {@code oa.cart.store} selects the implementation: {@code jpa} (default) keeps open lines as
+ * cart_items rows, {@code memory} keeps them in process and only writes cart_items rows when
+ * checkout links them to an order.
+ *
+ * Items passed in and returned are detached copies; change them through {@link #save}.
+ * Implementations report every change of the open lines to {@link CartTotals}.
+ */
+public interface CartStore {
+
+    /**
+     * @return all open lines, oldest first
+     */
+    List<CartItem> findAll();
+
+    Optional<CartItem> findById(Long id);
+
+    /**
+     * Adds the line when its id is null (assigning a new id), otherwise replaces the open line
+     * with that id.
+     */
+    CartItem save(CartItem item);
+
+    /**
+     * @return false if there is no open line with this id
+     */
+    boolean deleteById(Long id);
+
+    /**
+     * Links all open lines to the order and returns them. Must run in the checkout transaction;
+     * the cart is only emptied if that transaction commits. Publishes a CartCheckedOutEvent.
+     */
+    List<CartItem> checkout(Long orderId);
+}
@@ -0,0 +1,225 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Running totals of the open cart lines (line count, total quantity, total amount).
+ *
+ * The CartStore implementations report every line they add, change or remove, so reading
+ * the totals never scans the lines. The totals are recomputed from the store on startup and
+ * every {@code oa.cart.summary.reconcile-interval-ms} to pick up lines written around the
+ * store (SQL scripts, the synthetic dataset); drift found there is logged.
+ * {@link #version()} counts the changes, so derived per-cart results can be cached by it.
+ *
+ * A store mutation and its report form one step with respect to a recompute: stores run them
+ * through {@link #reporting} (or {@link #changedOnCommit}, which holds the step open until the
+ * transaction completes) under the read side of a scan lock, and a recompute scans and swaps
+ * under the write side. A recompute therefore never sees a line whose report is still to come.
+ * Totals and version are swapped together, and the swap is also skipped (and the scan
+ * repeated) if a change was reported during the scan without the lock, i.e. by the in-memory
+ * store's eviction of expired lines. Lines that expire while a scan runs can still leave the
+ * totals off until the next reconcile.
+ */
+@Slf4j
+@Component
+public class CartTotals {
+
+    private static final int RECOMPUTE_ATTEMPTS = 3;
+
+    /** Longest wait of a recompute for in-flight store changes before it skips this round. */
+    private static final long SCAN_LOCK_TIMEOUT_MS = 2_000;
+
+    /**
+     * Immutable totals; amounts are exact decimal sums of quantity * price.
+     */
+    public record Totals(long itemCount, long totalQuantity, BigDecimal totalAmount) {
+
+        static final Totals EMPTY = new Totals(0, 0, BigDecimal.ZERO);
+
+        public Totals {
+            // Same value, same representation: keeps equals independent of the order of changes
+            totalAmount = totalAmount.stripTrailingZeros();
+        }
+
+        Totals plus(CartItem line, int sign) {
+            if (line == null) {
+                return this;
+            }
+            BigDecimal subtotal = BigDecimal.valueOf(line.getPrice()).multiply(BigDecimal.valueOf(line.getQuantity()));
+            return new Totals(itemCount + sign, totalQuantity + (long) sign * line.getQuantity(),
+                    sign > 0 ? totalAmount.add(subtotal) : totalAmount.subtract(subtotal));
+        }
+    }
+
+    private record State(Totals totals, long version) {
+
+        State next(Totals totals) {
+            return new State(totals, version + 1);
+        }
+    }
+
+    @Autowired
+    private ObjectProvider<CartStore> cartStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate scanTransaction;
+
+    private final AtomicReference<State> state = new AtomicReference<>(new State(Totals.EMPTY, 0));
+
+    // Fair, so that a waiting recompute is not starved by a steady stream of cart writes
+    private final ReentrantReadWriteLock scanLock = new ReentrantReadWriteLock(true);
+
+    @PostConstruct
+    public void init() {
+        scanTransaction = new TransactionTemplate(transactionManager);
+        scanTransaction.setReadOnly(true);
+    }
+
+    public Totals current() {
+        return state.get().totals();
+    }
+
+    /**
+     * @return a number that changes whenever the open lines change
+     */
+    public long version() {
+        return state.get().version();
+    }
+
+    /**
+     * Replaces the totals with a full recompute over the open lines.
+     *
+     * Waits for store changes in flight (at most {@value #SCAN_LOCK_TIMEOUT_MS} ms) and holds
+     * new ones back while it scans. The running totals are kept until the next reconcile if
+     * the wait times out, if the calling thread has a store change of its own in flight, or
+     * if {@value #RECOMPUTE_ATTEMPTS} scans were interrupted by unlocked changes.
+     *
+     * @return the recomputed totals, or the running totals if the recompute was skipped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public Totals recompute() {
+        if (scanLock.getReadHoldCount() > 0) {
+            log.debug("Cart totals recompute skipped: called during a cart change");
+            return current();
+        }
+        // The scan's connection is taken before the lock: cart writers queued behind the lock
+        // may hold the rest of the pool
+        return scanTransaction.execute(tx -> lockedRecompute());
+    }
+
+    private Totals lockedRecompute() {
+        try {
+            if (!scanLock.writeLock().tryLock(SCAN_LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                log.debug("Cart totals recompute skipped: cart changes still in flight");
+                return current();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return current();
+        }
+        try {
+            return scanAndSwap();
+        } finally {
+            scanLock.writeLock().unlock();
+        }
+    }
+
+    private Totals scanAndSwap() {
+        for (int attempt = 0; attempt < RECOMPUTE_ATTEMPTS; attempt++) {
+            State previous = state.get();
+            Totals recomputed = sum(cartStore.getObject().findAll());
+            if (recomputed.equals(previous.totals())) {
+                return recomputed;
+            }
+            if (state.compareAndSet(previous, previous.next(recomputed))) {
+                if (!previous.totals().equals(Totals.EMPTY)) {
+                    log.info("Cart totals drifted from {} to {}", previous.totals(), recomputed);
+                }
+                return recomputed;
+            }
+        }
+        log.debug("Cart totals recompute skipped: lines kept changing during {} scans", RECOMPUTE_ATTEMPTS);
+        return current();
+    }
+
+    @Scheduled(fixedDelayString = "${oa.cart.summary.reconcile-interval-ms:60000}",
+               initialDelayString = "${oa.cart.summary.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        recompute();
+    }
+
+    static Totals sum(List<CartItem> lines) {
+        Totals sum = Totals.EMPTY;
+        for (CartItem line : lines) {
+            sum = sum.plus(line, 1);
+        }
+        return sum;
+    }
+
+    /**
+     * Runs a store mutation together with its {@link #changed} reports, so that no recompute
+     * scans in between. Must not be called while holding locks a store read could wait for.
+     */
+    <T> T reporting(Supplier<T> mutation) {
+        scanLock.readLock().lock();
+        try {
+            return mutation.get();
+        } finally {
+            scanLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a line change now; before is null for an added line, after for a removed one.
+     */
+    void changed(CartItem before, CartItem after) {
+        state.updateAndGet(current -> current.next(current.totals().plus(before, -1).plus(after, 1)));
+    }
+
+    /**
+     * Applies a line change once the current transaction commits (now if there is none).
+     * The lines are read at commit time.
+     *
+     * Recomputes wait from this call until the transaction has completed: the committed rows
+     * become visible to a scan before afterCommit reports them.
+     */
+    void changedOnCommit(CartItem before, CartItem after) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            scanLock.readLock().lock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed(before, after);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    scanLock.readLock().unlock();
+                }
+            });
+        } else {
+            changed(before, after);
+        }
+    }
+}
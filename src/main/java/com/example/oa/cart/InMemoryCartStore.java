@@ -0,0 +1,239 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import com.example.oa.exception.ResourceNotFoundException;
+import com.example.oa.id.SnowflakeIdGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * CartStore keeping open lines in memory; cart_items rows are only written at checkout.
+ *
+ * Most carts are abandoned, so adding, changing and removing lines causes no database writes.
+ * Lines are compact {@link CartLine} records in a Caffeine cache bounded by
+ * {@code oa.cart.memory.maximum-lines} that also drops lines idle for longer than
+ * {@code oa.cart.memory.expire-after-access}. Ids come from the Snowflake generator, so they
+ * never clash with cart_items rows.
+ *
+ * With {@code oa.cart.memory.snapshot-path} set, the lines are written to that file every
+ * {@code oa.cart.memory.snapshot-interval-ms} and on shutdown, and read back on startup.
+ * Open lines are not in the cart_items table, so queries on that table (e.g. sparse
+ * fieldsets) only see checked-out lines.
+ *
+ * Enabled with {@code oa.cart.store=memory}. Metrics: cache.* with tag cache=cartLines.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oa.cart", name = "store", havingValue = "memory")
+public class InMemoryCartStore implements CartStore {
+
+    private static final String INSERT_SQL = "INSERT INTO cart_items "
+            + "(id, order_id, product_id, product_name, quantity, price) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${oa.cart.memory.maximum-lines:100000}")
+    private long maximumLines;
+
+    @Value("${oa.cart.memory.expire-after-access:7d}")
+    private Duration expireAfterAccess;
+
+    @Value("${oa.cart.memory.snapshot-path:}")
+    private String snapshotPath;
+
+    private Cache<Long, CartLine> lines;
+
+    @PostConstruct
+    public void init() {
+        lines = Caffeine.newBuilder()
+                .maximumSize(maximumLines)
+                .expireAfterAccess(expireAfterAccess)
+                .evictionListener((Long id, CartLine line, RemovalCause cause) ->
+                        cartTotals.changed(line.toCartItem(), null))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lines, "cartLines");
+        loadSnapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    @Override
+    public List<CartItem> findAll() {
+        // Expired lines are evicted (and reported) first rather than just skipped by the scan
+        lines.cleanUp();
+        return lines.asMap().values().stream()
+                .sorted(Comparator.comparingLong(CartLine::id))
+                .map(CartLine::toCartItem)
+                .toList();
+    }
+
+    @Override
+    public Optional<CartItem> findById(Long id) {
+        return Optional.ofNullable(lines.getIfPresent(id)).map(CartLine::toCartItem);
+    }
+
+    @Override
+    public CartItem save(CartItem item) {
+        return cartTotals.reporting(() -> {
+            if (item.getId() == null) {
+                item.setId(idGenerator.nextId());
+                lines.put(item.getId(), CartLine.of(item));
+                cartTotals.changed(null, item);
+                return item;
+            }
+            CartLine before = lines.asMap().replace(item.getId(), CartLine.of(item));
+            if (before == null) {
+                throw new ResourceNotFoundException("CartItem", item.getId());
+            }
+            cartTotals.changed(before.toCartItem(), item);
+            return item;
+        });
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return cartTotals.reporting(() -> {
+            CartLine removed = lines.asMap().remove(id);
+            if (removed == null) {
+                return false;
+            }
+            cartTotals.changed(removed.toCartItem(), null);
+            return true;
+        });
+    }
+
+    @Override
+    public List<CartItem> checkout(Long orderId) {
+        return cartTotals.reporting(() -> checkoutLines(orderId));
+    }
+
+    private List<CartItem> checkoutLines(Long orderId) {
+        List<CartLine> checkedOut = lines.asMap().values().stream()
+                .sorted(Comparator.comparingLong(CartLine::id))
+                .toList();
+        if (checkedOut.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, checkedOut, checkedOut.size(), (ps, line) -> {
+            ps.setLong(1, line.id());
+            ps.setLong(2, orderId);
+            ps.setLong(3, line.productId());
+            ps.setString(4, line.productName());
+            ps.setInt(5, line.quantity());
+            ps.setDouble(6, line.price());
+        });
+
+        List<Long> ids = checkedOut.stream().map(CartLine::id).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lines.invalidateAll(ids);
+                }
+            });
+        } else {
+            lines.invalidateAll(ids);
+        }
+
+        List<CartItem> items = new ArrayList<>(checkedOut.size());
+        for (CartLine line : checkedOut) {
+            CartItem item = line.toCartItem();
+            item.setOrderId(orderId);
+            cartTotals.changedOnCommit(item, null);
+            items.add(item);
+        }
+        eventPublisher.publishEvent(new CartCheckedOutEvent(orderId, items));
+        return items;
+    }
+
+    @Scheduled(fixedDelayString = "${oa.cart.memory.snapshot-interval-ms:60000}",
+               initialDelayString = "${oa.cart.memory.snapshot-interval-ms:60000}")
+    public void writeSnapshot() {
+        if (snapshotPath.isBlank()) {
+            return;
+        }
+        Path target = Path.of(snapshotPath);
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            // Write aside and move into place, so a crash never leaves a truncated snapshot
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new ArrayList<>(lines.asMap().values()));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Could not write cart snapshot {}: {}", target, ex.getMessage());
+        }
+    }
+
+    void loadSnapshot() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return;
+        }
+        try {
+            List<CartLine> restored = objectMapper.readValue(Path.of(snapshotPath).toFile(),
+                    new TypeReference<List<CartLine>>() { });
+            cartTotals.reporting(() -> {
+                for (CartLine line : restored) {
+                    CartLine previous = lines.asMap().put(line.id(), line);
+                    cartTotals.changed(previous == null ? null : previous.toCartItem(), line.toCartItem());
+                }
+                return restored.size();
+            });
+            log.info("Restored {} open cart lines from {}", restored.size(), snapshotPath);
+        } catch (IOException ex) {
+            log.warn("Could not read cart snapshot {}: {}", snapshotPath, ex.getMessage());
+        }
+    }
+
+    void clear() {
+        List.copyOf(lines.asMap().keySet()).forEach(this::deleteById);
+    }
+}
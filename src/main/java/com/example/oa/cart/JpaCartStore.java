@@ -0,0 +1,78 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import com.example.oa.repository.CartItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * CartStore keeping open lines as cart_items rows with order_id NULL.
+ *
+ * This component is provided as part of the skeleton infrastructure. Every change is a
+ * database write; see InMemoryCartStore for the alternative.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oa.cart", name = "store", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CartItem> findAll() {
+        return cartItemRepository.findByOrderIdIsNullOrderByIdAsc();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CartItem> findById(Long id) {
+        return cartItemRepository.findById(id).filter(item -> item.getOrderId() == null);
+    }
+
+    @Override
+    @Transactional
+    public CartItem save(CartItem item) {
+        // Copied before the save merges the new state into the managed entity
+        CartItem before = item.getId() == null ? null
+                : findById(item.getId()).map(existing -> CartLine.of(existing).toCartItem()).orElse(null);
+        CartItem saved = cartItemRepository.save(item);
+        cartTotals.changedOnCommit(before, saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteById(Long id) {
+        Optional<CartItem> item = findById(id);
+        item.ifPresent(existing -> {
+            cartItemRepository.delete(existing);
+            cartTotals.changedOnCommit(existing, null);
+        });
+        return item.isPresent();
+    }
+
+    @Override
+    @Transactional
+    public List<CartItem> checkout(Long orderId) {
+        List<CartItem> items = cartItemRepository.findByOrderIdIsNullOrderByIdAsc();
+        items.forEach(item -> {
+            item.setOrderId(orderId);
+            cartTotals.changedOnCommit(item, null);
+        });
+        eventPublisher.publishEvent(new CartCheckedOutEvent(orderId, items));
+        return items;
+    }
+}
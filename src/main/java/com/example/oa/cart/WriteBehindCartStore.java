@@ -0,0 +1,199 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import com.example.oa.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind decorator of JpaCartStore for changes to existing open lines.
+ *
+ * Repeated updates of a line (quantity +/- clicks) only replace its pending state in memory;
+ * every {@code oa.cart.write-behind.flush-interval-ms} the latest state of all changed lines is
+ * written with one batched UPDATE. Reads overlay the pending state, and checkout flushes first,
+ * so callers never see the delay. New lines and deletions are written immediately.
+ *
+ * Pending updates are lost if the process dies before the next flush; they are flushed on a
+ * regular shutdown.
+ *
+ * Enabled with {@code oa.cart.write-behind.enabled=true} (jpa store only).
+ * Metrics: oa.cart.writebehind.updates, oa.cart.writebehind.flushed, oa.cart.writebehind.pending.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnExpression("${oa.cart.write-behind.enabled:false} and '${oa.cart.store:jpa}' == 'jpa'")
+public class WriteBehindCartStore implements CartStore {
+
+    private static final String UPDATE_SQL = "UPDATE cart_items SET product_id = ?, product_name = ?, "
+            + "quantity = ?, price = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND order_id IS NULL";
+
+    @Autowired
+    private JpaCartStore delegate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    private final Map<Long, CartLine> pending = new ConcurrentHashMap<>();
+
+    private Counter updates;
+    private Counter flushed;
+
+    @PostConstruct
+    public void init() {
+        updates = Counter.builder("oa.cart.writebehind.updates")
+                .description("Cart line updates accepted into the write-behind buffer")
+                .register(meterRegistry);
+        flushed = Counter.builder("oa.cart.writebehind.flushed")
+                .description("Cart line rows written by write-behind flushes")
+                .register(meterRegistry);
+        Gauge.builder("oa.cart.writebehind.pending", pending, Map::size)
+                .description("Cart lines with unflushed updates")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @Override
+    public List<CartItem> findAll() {
+        List<CartItem> items = new ArrayList<>();
+        for (CartItem item : delegate.findAll()) {
+            CartLine line = pending.get(item.getId());
+            items.add(line != null ? line.toCartItem() : item);
+        }
+        return items;
+    }
+
+    @Override
+    public Optional<CartItem> findById(Long id) {
+        CartLine line = pending.get(id);
+        return line != null ? Optional.of(line.toCartItem()) : delegate.findById(id);
+    }
+
+    @Override
+    public CartItem save(CartItem item) {
+        if (item.getId() == null) {
+            return delegate.save(item);
+        }
+        CartItem stored = pending.containsKey(item.getId()) ? null
+                : delegate.findById(item.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("CartItem", item.getId()));
+        cartTotals.reporting(() -> {
+            CartLine previous = pending.put(item.getId(), CartLine.of(item));
+            cartTotals.changed(previous != null ? previous.toCartItem() : stored, item);
+            return item;
+        });
+        updates.increment();
+        return item;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return cartTotals.reporting(() -> {
+            CartLine pendingLine = pending.remove(id);
+            if (pendingLine != null) {
+                // The delegate removes the line as stored, so take the pending change back first
+                cartTotals.changed(pendingLine.toCartItem(), delegate.findById(id).orElse(null));
+            }
+            return delegate.deleteById(id) || pendingLine != null;
+        });
+    }
+
+    @Override
+    public List<CartItem> checkout(Long orderId) {
+        // Held until the delegate's change reports take over (until the transaction completes)
+        return cartTotals.reporting(() -> checkoutLines(orderId));
+    }
+
+    private List<CartItem> checkoutLines(Long orderId) {
+        Map<Long, CartLine> written = new HashMap<>();
+        flushPending().forEach(line -> written.put(line.id(), line));
+        List<CartItem> items = delegate.checkout(orderId);
+        // Entities loaded earlier in the caller's transaction may predate the flush; re-apply the
+        // flushed state so that linking them to the order does not write stale quantities back
+        for (CartItem item : items) {
+            CartLine line = written.get(item.getId());
+            if (line != null) {
+                item.setProductId(line.productId());
+                item.setProductName(line.productName());
+                item.setQuantity(line.quantity());
+                item.setPrice(line.price());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Writes the latest pending state of every changed line in one batch.
+     *
+     * @return number of lines written
+     */
+    @Scheduled(fixedDelayString = "${oa.cart.write-behind.flush-interval-ms:250}")
+    public int flush() {
+        try {
+            // A scan must not read a line between its UPDATE and its removal from pending
+            return cartTotals.reporting(this::flushPending).size();
+        } catch (DataAccessException ex) {
+            log.warn("Cart write-behind flush failed, retrying later: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    private synchronized List<CartLine> flushPending() {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<CartLine> batch = new ArrayList<>(pending.values());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, line) -> {
+            ps.setLong(1, line.productId());
+            ps.setString(2, line.productName());
+            ps.setInt(3, line.quantity());
+            ps.setDouble(4, line.price());
+            ps.setLong(5, line.id());
+        });
+        // Lines updated again while the batch was written stay pending for the next flush
+        batch.forEach(line -> pending.remove(line.id(), line));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Flushed as part of a caller's transaction (checkout): keep the updates if it rolls back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        batch.forEach(line -> pending.putIfAbsent(line.id(), line));
+                    }
+                }
+            });
+        }
+        flushed.increment(batch.size());
+        return batch;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.oa.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Accept-based content negotiation for binary encodings of the API responses.
+ *
+ * JSON stays the default (first converter, used for missing or wildcard Accept headers).
+ * Clients that send one of these Accept headers get the same response shapes in binary form:
+ * - application/cbor              (RFC 8949)
+ * - application/x-jackson-smile   (binary JSON, best for Java-to-Java traffic)
+ *
+ * Spring MVC registers plain CBOR/Smile converters on its own when the libraries are present,
+ * but those use a bare ObjectMapper. They are replaced here with mappers built from Spring Boot's
+ * Jackson2ObjectMapperBuilder so the spring.jackson.* settings and the modules from JacksonConfig
+ * (compact Page envelope, ISO dates) apply to every encoding.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.oa.config;
+
+import com.example.oa.datasource.LocalReplicaSync;
+import com.example.oa.datasource.ReadYourWritesFilter;
+import com.example.oa.datasource.ReplicaLagMonitor;
+import com.example.oa.datasource.ReplicaProperties;
+import com.example.oa.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits database traffic between the primary (spring.datasource) and a read replica.
+ *
+ * Only active when {@code oa.datasource.replica.url} is set. The application's DataSource then
+ * becomes a LazyConnectionDataSourceProxy over a ReplicaRoutingDataSource:
+ * {@code @Transactional(readOnly = true)} work (including Spring Data's read methods) reads
+ * from the replica, all other work uses the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "oa.datasource.replica", name = "url")
+public class DataSourceRoutingConfig implements SchedulingConfigurer {
+
+    private final ReplicaProperties replicaProperties;
+    private final DataSourceProperties primaryProperties;
+    private final ObjectProvider<ReplicaLagMonitor> lagMonitor;
+    private final ObjectProvider<LocalReplicaSync> localReplicaSync;
+
+    public DataSourceRoutingConfig(ReplicaProperties replicaProperties, DataSourceProperties primaryProperties,
+                                   ObjectProvider<ReplicaLagMonitor> lagMonitor,
+                                   ObjectProvider<LocalReplicaSync> localReplicaSync) {
+        this.replicaProperties = replicaProperties;
+        this.primaryProperties = primaryProperties;
+        this.lagMonitor = lagMonitor;
+        this.localReplicaSync = localReplicaSync;
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(replicaProperties.getUrl())
+                .username(orDefault(replicaProperties.getUsername(), primaryProperties.determineUsername()))
+                .password(orDefault(replicaProperties.getPassword(), primaryProperties.determinePassword()))
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, replicaProperties.getMaxLag());
+        Gauge.builder("oa.datasource.replica.lag", monitor, ReplicaLagMonitor::getLagMillis)
+                .description("Measured replication lag in milliseconds (-1 = unknown)")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor,
+                replicaProperties.getReadYourWritesWindow());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "oa.datasource.replica.local-sync", name = "enabled", havingValue = "true")
+    public LocalReplicaSync localReplicaSync(@Qualifier("primaryDataSource") DataSource primary,
+                                             ReplicaLagMonitor replicaLagMonitor) {
+        // Writes need a plain connection, the replica pool is read-only
+        DataSource replica = new DriverManagerDataSource(
+                replicaProperties.getUrl(),
+                orDefault(replicaProperties.getUsername(), primaryProperties.determineUsername()),
+                orDefault(replicaProperties.getPassword(), primaryProperties.determinePassword()));
+        return new LocalReplicaSync(primary, replica, replicaLagMonitor);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration lagCheckInterval = Duration.ofMillis(replicaProperties.getLagCheckIntervalMs());
+        registrar.addFixedDelayTask(() -> lagMonitor.getObject().check(), lagCheckInterval);
+        localReplicaSync.ifAvailable(sync -> registrar.addFixedDelayTask(sync::sync,
+                Duration.ofMillis(replicaProperties.getLocalSync().getIntervalMs())));
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.oa.config;
+
+import com.example.oa.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the application's SnowflakeIdGenerator for this node ({@code oa.ids.node-id}). Hibernate
+ * looks it up for {@code @SnowflakeId} entity ids (see SnowflakeIdentifierGenerator).
+ *
+ * Every running instance needs its own node id (0-1023) for ids to stay unique.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${oa.ids.node-id:0}") int nodeId) {
+        return new SnowflakeIdGenerator(nodeId);
+    }
+}
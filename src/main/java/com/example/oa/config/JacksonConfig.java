@@ -0,0 +1,37 @@
+package com.example.oa.config;
+
+import com.example.oa.json.LocalDateTimeFastSerializer;
+import com.example.oa.json.PageSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Jackson configuration for response serialization.
+ *
+ * Spring Boot registers every Module bean on the application ObjectMapper, so controllers
+ * pick these up without further wiring:
+ * - Blackbird replaces reflective getter calls with generated lambdas
+ * - LocalDateTimeFastSerializer writes ISO dates without a DateTimeFormatter per value
+ * - PageSerializer writes a compact Page envelope (content + paging fields only)
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module responseSerializersModule() {
+        SimpleModule module = new SimpleModule("ResponseSerializers");
+        module.addSerializer(LocalDateTime.class, new LocalDateTimeFastSerializer());
+        module.addSerializer(new PageSerializer());
+        return module;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.oa.controller;
+
+import com.example.oa.dto.CustomerSpendResponse;
+import com.example.oa.dto.DailyRevenueResponse;
+import com.example.oa.dto.RevenueReportResponse;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.service.AnalyticsQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dashboard analytics REST controller.
+ *
+ * Reports are served from a periodically refreshed in-memory snapshot or from rollup tables,
+ * never from the orders table.
+ * Error handling is already configured in GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsQueryService analyticsQueryService;
+
+    // GET /api/analytics/revenue/daily?from=2026-01-01&to=2026-03-31&status=DELIVERED
+    // Query params: from, to (ISO dates, inclusive, default the last 30 days), status, customerId (optional filters)
+    // Returns: RevenueReportResponse (order count and revenue per day and status, as of snapshotAt)
+    // Status: 200 OK
+    // Errors: 400 if from is after to or the range is longer than 3660 days
+    @GetMapping("/revenue/daily")
+    public RevenueReportResponse getDailyRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long customerId) {
+        return analyticsQueryService.getDailyRevenue(from, to, status, customerId);
+    }
+
+    // GET /api/analytics/rollups/daily?from=2026-01-01&to=2026-03-31&status=DELIVERED
+    // Query params: from, to (ISO dates, inclusive, default the last 30 days), status (optional filter)
+    // Returns: List of DailyRevenueResponse in date and status order, from the daily rollup (up to date)
+    // Status: 200 OK
+    // Errors: 400 if from is after to or the range is longer than 3660 days
+    @GetMapping("/rollups/daily")
+    public List<DailyRevenueResponse> getDailyRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status) {
+        return analyticsQueryService.getDailyRollups(from, to, status);
+    }
+
+    // GET /api/analytics/rollups/customers?limit=10
+    // Query params: limit (default 10, max 1000)
+    // Returns: List of CustomerSpendResponse, highest lifetime spend first
+    // Status: 200 OK
+    // Errors: 400 if limit is out of range
+    @GetMapping("/rollups/customers")
+    public List<CustomerSpendResponse> getTopCustomers(@RequestParam(defaultValue = "10") int limit) {
+        return analyticsQueryService.getTopCustomers(limit);
+    }
+
+    // GET /api/analytics/rollups/customers/{customerId}
+    // Returns: CustomerSpendResponse (lifetime order count and spend, cancelled orders excluded)
+    // Status: 200 OK (zero for a customer without orders)
+    @GetMapping("/rollups/customers/{customerId}")
+    public CustomerSpendResponse getCustomerSpend(@PathVariable Long customerId) {
+        return analyticsQueryService.getCustomerSpend(customerId);
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.oa.controller;
 
+import com.example.oa.dto.CartPricingResponse;
+import com.example.oa.dto.CartSummaryResponse;
 import com.example.oa.dto.CheckoutRequest;
 import com.example.oa.dto.OrderResponse;
+import com.example.oa.service.CartItemService;
 import com.example.oa.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +25,25 @@ public class CartController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private CartItemService cartItemService;
+
+    // GET /api/cart/summary
+    // Returns: CartSummaryResponse (itemCount, totalQuantity, totalAmount of the open cart items)
+    // Status: 200 OK (zeros for an empty cart)
+    @GetMapping("/summary")
+    public CartSummaryResponse getCartSummary() {
+        return cartItemService.getCartSummary();
+    }
+
+    // GET /api/cart/pricing
+    // Returns: CartPricingResponse (open cart items priced with the active promotions)
+    // Status: 200 OK
+    @GetMapping("/pricing")
+    public CartPricingResponse getCartPricing() {
+        return cartItemService.getCartPricing();
+    }
+
     // Task 13 (BONUS): POST /api/cart/checkout
     // Request: CheckoutRequest (customerId, customerName)
     // Returns: OrderResponse
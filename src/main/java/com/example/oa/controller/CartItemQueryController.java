@@ -0,0 +1,32 @@
+package com.example.oa.controller;
+
+import com.example.oa.service.CartItemQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cart item read endpoints that complement CartItemController.
+ * 
+ * This controller is provided as part of the skeleton infrastructure.
+ * Its mappings are narrowed by request parameters, so they only take over
+ * requests that use those parameters and never clash with the Task endpoints.
+ */
+@RestController
+@RequestMapping("/api/cart/items")
+public class CartItemQueryController {
+
+    @Autowired
+    private CartItemQueryService cartItemQueryService;
+
+    // GET /api/cart/items?fields=productName,quantity,subtotal
+    // Returns: List of objects holding only the requested fields
+    // Status: 200 OK
+    // Errors: 400 if a field is unknown
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getCartItemFields(@RequestParam String fields) {
+        return cartItemQueryService.getCartItemFields(fields);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.oa.controller;
+
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.event.OrderEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Order event stream controller.
+ *
+ * This controller is provided as part of the skeleton infrastructure.
+ * Status changes made through updateOrderStatus / cancelOrder (Tasks 10-12) are pushed
+ * to subscribers once committed, so clients no longer need to poll.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderEventController {
+
+    @Autowired
+    private OrderEventBroadcaster orderEventBroadcaster;
+
+    // GET /api/orders/events?status=SHIPPED&customerId=1
+    // Query params: status, customerId (both optional filters)
+    // Returns: text/event-stream of "order-status" events (data: OrderStatusEvent)
+    // Status: 200 OK
+    // Note: slow clients are disconnected when their buffer overflows and should reconnect
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long customerId) {
+        return orderEventBroadcaster.subscribe(status, customerId);
+    }
+}
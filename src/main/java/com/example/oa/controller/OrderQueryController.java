@@ -0,0 +1,142 @@
+package com.example.oa.controller;
+
+import com.example.oa.dto.OrderBatchResponse;
+import com.example.oa.dto.OrderChangeFeedResponse;
+import com.example.oa.dto.OrderKeysetPageResponse;
+import com.example.oa.dto.OrderStatusTransitionResponse;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.service.OrderQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order read endpoints that complement OrderController.
+ * 
+ * This controller is provided as part of the skeleton infrastructure.
+ * Its mappings are narrowed by request parameters or use fixed sub-paths, so they
+ * only take over requests that use those and never clash with the Task endpoints.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderQueryController {
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    // GET /api/orders?fields=id,status,totalAmount
+    // Query params: fields (required), status, startDate, endDate, page, size, sort
+    // Returns: Page of objects holding only the requested fields
+    // Status: 200 OK
+    // Errors: 400 if a field or sort property is unknown, or startDate is after endDate
+    @GetMapping(params = {"fields", "!ids"})
+    public Page<Map<String, Object>> getOrderFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @PageableDefault(size = 10, sort = "id") Pageable pageable) {
+        return orderQueryService.getOrderFields(fields, status, startDate, endDate, pageable);
+    }
+
+    // GET /api/orders?ids=1,2,3
+    // Query params: ids (required, comma-separated, at most 100)
+    // Returns: OrderBatchResponse (orders in request order + missingIds)
+    // Status: 200 OK (missing ids are reported, not an error)
+    // Errors: 400 if ids is empty, malformed or too long
+    @GetMapping(params = "ids")
+    public OrderBatchResponse getOrdersByIds(@RequestParam String ids) {
+        return orderQueryService.getOrdersByIds(parseIds(ids));
+    }
+
+    // GET /api/orders?after=0&size=20
+    // Query params: after (required, last id of the previous page, 0 for the first page), size (default 20, max 1000)
+    // Returns: OrderKeysetPageResponse (orders in id = creation order + nextAfter)
+    // Status: 200 OK
+    // Errors: 400 if size is out of range
+    @GetMapping(params = {"after", "!ids", "!fields"})
+    public OrderKeysetPageResponse getOrdersAfter(
+            @RequestParam long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderQueryService.getOrdersAfter(after, size);
+    }
+
+    // GET /api/orders/search?q=smith&size=20
+    // Query params: q (required, at least 3 characters), size (default 20, max 100)
+    // Returns: OrderBatchResponse (orders whose customer name or product names contain q, newest first)
+    // Status: 200 OK (empty list if nothing matches)
+    // Errors: 400 if q is too short or size is out of range
+    @GetMapping("/search")
+    public OrderBatchResponse searchOrders(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int size) {
+        return orderQueryService.searchOrders(q, size);
+    }
+
+    // GET /api/orders/changes?since=42&size=100
+    // Query params: since (token from the previous page, default start of feed), size (default 100, max 1000)
+    // Returns: OrderChangeFeedResponse (orders changed after the token, by change sequence + nextToken)
+    // Status: 200 OK
+    // Errors: 400 if the token or size is invalid
+    @GetMapping("/changes")
+    public OrderChangeFeedResponse getOrderChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size) {
+        return orderQueryService.getChanges(since, size);
+    }
+
+    // GET /api/orders/{id}/history
+    // Returns: List of OrderStatusTransitionResponse, oldest first (first entry = creation)
+    // Status: 200 OK
+    // Errors: 404 if order not found
+    @GetMapping("/{id}/history")
+    public List<OrderStatusTransitionResponse> getOrderHistory(@PathVariable Long id) {
+        return orderQueryService.getStatusHistory(id);
+    }
+
+    // GET /api/orders/transitions?minutes=60&status=SHIPPED&size=100
+    // Query params: minutes (default 60, max one week), status (optional target status), size (default 100, max 1000)
+    // Returns: List of OrderStatusTransitionResponse across all orders, newest first
+    // Status: 200 OK
+    // Errors: 400 if minutes or size is out of range
+    @GetMapping("/transitions")
+    public List<OrderStatusTransitionResponse> getRecentTransitions(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "100") int size) {
+        return orderQueryService.getRecentTransitions(minutes, status, size);
+    }
+
+    // GET /api/orders/{id}?fields=id,status
+    // Returns: object holding only the requested fields
+    // Status: 200 OK
+    // Errors: 404 if order not found, 400 if a field is unknown
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> getOrderFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        return orderQueryService.getOrderFieldsById(id, fields);
+    }
+
+    private List<Long> parseIds(String ids) {
+        List<Long> parsed = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid order id '" + id.trim() + "'");
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.oa.controller;
+
+import com.example.oa.dto.TopProductResponse;
+import com.example.oa.service.ProductQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Product REST controller.
+ *
+ * Error handling is already configured in GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+
+    @Autowired
+    private ProductQueryService productQueryService;
+
+    // GET /api/products/top?window=hour&limit=50
+    // Query params: window (hour or day, default day), limit (default 50, max oa.sales.top.capacity)
+    // Returns: List of TopProductResponse, most units checked out first (approximate counts)
+    // Status: 200 OK
+    // Errors: 400 if window or limit is invalid
+    @GetMapping("/top")
+    public List<TopProductResponse> getTopProducts(
+            @RequestParam(defaultValue = "day") String window,
+            @RequestParam(defaultValue = "50") int limit) {
+        return productQueryService.getTopProducts(window, limit);
+    }
+}
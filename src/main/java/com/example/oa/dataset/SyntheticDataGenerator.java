@@ -0,0 +1,283 @@
+package com.example.oa.dataset;
+
+import com.example.oa.entity.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Populates customers, products, orders and cart items with a realistic, repeatable dataset
+ * for benchmarking pagination, filtering and checkout at production volume.
+ *
+ * Rows are written with batched JDBC inserts (bypassing JPA) in chunks of
+ * {@link SyntheticDataProperties#getBatchSize()}. Every table draws from its own random stream
+ * derived from the configured seed, so the same configuration always produces the same rows.
+ *
+ * Distributions:
+ * - Customers and products are picked with a power-law skew (a few very active customers,
+ *   a few best-selling products).
+ * - Order dates lean towards the reference date (a growing shop) and follow a daytime curve.
+ * - Status depends on order age: fresh orders are CREATED/CONFIRMED, older ones SHIPPED,
+ *   then mostly DELIVERED, with a steady share of CANCELLED.
+ * - Every order has 1..maxItemsPerOrder linked cart items and its totalAmount is their sum.
+ */
+@Slf4j
+@Component
+public class SyntheticDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "John", "Jane", "Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry",
+            "Isla", "Jack", "Karen", "Liam", "Mia", "Noah", "Olivia", "Paul", "Quinn", "Ruby"};
+    private static final String[] LAST_NAMES = {
+            "Doe", "Smith", "Johnson", "Brown", "Taylor", "Miller", "Wilson", "Moore", "Clark", "Lewis",
+            "Walker", "Hall", "Young", "King", "Wright", "Scott", "Green", "Baker", "Adams", "Nelson"};
+    private static final String[] PRODUCT_NOUNS = {
+            "Laptop", "Mouse", "Keyboard", "Monitor", "Headphones", "Webcam", "Speaker", "Tablet",
+            "Charger", "Cable", "Dock", "Microphone", "Router", "Drive", "Phone", "Watch"};
+    private static final String[] PRODUCT_ADJECTIVES = {
+            "Basic", "Pro", "Ultra", "Compact", "Wireless", "Gaming", "Office", "Travel"};
+
+    /** Relative order volume per hour of day (quiet nights, lunchtime and evening peaks). */
+    private static final int[] HOURLY_WEIGHTS = {
+            1, 1, 1, 1, 1, 2, 3, 5, 7, 8, 9, 10, 12, 11, 9, 8, 8, 9, 11, 13, 12, 9, 5, 2};
+
+    private static final long CUSTOMER_STREAM = 0x9E3779B97F4A7C15L;
+    private static final long PRODUCT_STREAM = 0xC2B2AE3D27D4EB4FL;
+    private static final long ORDER_STREAM = 0x165667B19E3779F9L;
+    private static final long CART_STREAM = 0x27D4EB2F165667C5L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public SyntheticDataReport generate(SyntheticDataProperties properties) {
+        long start = System.currentTimeMillis();
+        LocalDate referenceDate = properties.getReferenceDate();
+
+        long firstCustomerId = nextId("customers");
+        long firstProductId = nextId("products");
+        long firstOrderId = nextId("orders");
+        long firstCartItemId = nextId("cart_items");
+
+        String[] customerNames = insertCustomers(properties, firstCustomerId);
+        ProductCatalog catalog = insertProducts(properties, firstProductId);
+        long cartItemId = insertOrders(properties, referenceDate, firstOrderId, firstCustomerId,
+                customerNames, catalog, firstCartItemId);
+        cartItemId = insertOpenCartItems(properties, catalog, cartItemId);
+
+        restartIdentity("customers", firstCustomerId + properties.getCustomers());
+        restartIdentity("products", firstProductId + properties.getProducts());
+        // Order and cart item ids are Snowflake ids assigned by the application; the sequential
+        // ids used here stay far below them, so generated rows sort before any created later
+
+        SyntheticDataReport report = new SyntheticDataReport(
+                properties.getCustomers(),
+                properties.getProducts(),
+                properties.getOrders(),
+                cartItemId - firstCartItemId,
+                System.currentTimeMillis() - start);
+        log.info("Synthetic dataset generated: {}", report);
+        return report;
+    }
+
+    private String[] insertCustomers(SyntheticDataProperties properties, long firstId) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ CUSTOMER_STREAM);
+        String[] names = new String[properties.getCustomers()];
+        BatchWriter writer = new BatchWriter("INSERT INTO customers (id, name, email) VALUES (?, ?, ?)",
+                properties.getBatchSize());
+        for (int i = 0; i < names.length; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            long id = firstId + i;
+            names[i] = first + " " + last;
+            writer.add(id, names[i], first.toLowerCase() + "." + last.toLowerCase() + id + "@example.com");
+        }
+        writer.flush();
+        return names;
+    }
+
+    private ProductCatalog insertProducts(SyntheticDataProperties properties, long firstId) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ PRODUCT_STREAM);
+        ProductCatalog catalog = new ProductCatalog(firstId, properties.getProducts());
+        BatchWriter writer = new BatchWriter("INSERT INTO products (id, name, price, description) VALUES (?, ?, ?, ?)",
+                properties.getBatchSize());
+        for (int i = 0; i < catalog.names.length; i++) {
+            String name = PRODUCT_ADJECTIVES[random.nextInt(PRODUCT_ADJECTIVES.length)] + " "
+                    + PRODUCT_NOUNS[random.nextInt(PRODUCT_NOUNS.length)] + " " + (firstId + i);
+            // Log-normal prices: mostly accessories, a long tail of expensive devices
+            double price = round2(Math.min(5_000.0, Math.max(1.0, Math.exp(3.5 + 1.1 * gaussian(random)))));
+            catalog.names[i] = name;
+            catalog.prices[i] = price;
+            writer.add(firstId + i, name, price, "Synthetic product " + name);
+        }
+        writer.flush();
+        return catalog;
+    }
+
+    private long insertOrders(SyntheticDataProperties properties, LocalDate referenceDate, long firstOrderId,
+                              long firstCustomerId, String[] customerNames, ProductCatalog catalog,
+                              long firstCartItemId) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ ORDER_STREAM);
+        LocalDateTime reference = referenceDate.atStartOfDay();
+        BatchWriter orders = new BatchWriter(
+                "INSERT INTO orders (id, customer_id, customer_name, order_date, status, total_amount) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                properties.getBatchSize());
+        BatchWriter items = new BatchWriter(
+                "INSERT INTO cart_items (id, order_id, product_id, product_name, quantity, price) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                properties.getBatchSize());
+
+        long cartItemId = firstCartItemId;
+        for (int i = 0; i < properties.getOrders(); i++) {
+            long orderId = firstOrderId + i;
+            int customer = skewedIndex(random, customerNames.length, 2.5);
+
+            // u^1.6 concentrates orders near the reference date
+            int daysAgo = (int) (properties.getHistoryDays() * Math.pow(random.nextDouble(), 1.6));
+            LocalDateTime orderDate = reference.minusDays(daysAgo)
+                    .withHour(weightedHour(random))
+                    .withMinute(random.nextInt(60))
+                    .withSecond(random.nextInt(60));
+
+            int lines = 1 + (int) (properties.getMaxItemsPerOrder() * Math.pow(random.nextDouble(), 2));
+            lines = Math.min(lines, properties.getMaxItemsPerOrder());
+            double total = 0;
+            for (int line = 0; line < lines; line++) {
+                int product = skewedIndex(random, catalog.names.length, 2.0);
+                int quantity = random.nextInt(10) < 7 ? 1 : 2 + random.nextInt(3);
+                total += quantity * catalog.prices[product];
+                items.add(cartItemId++, orderId, catalog.firstId + product, catalog.names[product],
+                        quantity, catalog.prices[product]);
+            }
+
+            orders.add(orderId, firstCustomerId + customer, customerNames[customer], Timestamp.valueOf(orderDate),
+                    statusForAge(random, daysAgo).name(), round2(total));
+        }
+        orders.flush();
+        items.flush();
+        return cartItemId;
+    }
+
+    private long insertOpenCartItems(SyntheticDataProperties properties, ProductCatalog catalog, long firstId) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ CART_STREAM);
+        BatchWriter writer = new BatchWriter(
+                "INSERT INTO cart_items (id, order_id, product_id, product_name, quantity, price) "
+                        + "VALUES (?, NULL, ?, ?, ?, ?)",
+                properties.getBatchSize());
+        long id = firstId;
+        for (int i = 0; i < properties.getOpenCartItems(); i++) {
+            int product = skewedIndex(random, catalog.names.length, 2.0);
+            writer.add(id++, catalog.firstId + product, catalog.names[product],
+                    1 + random.nextInt(3), catalog.prices[product]);
+        }
+        writer.flush();
+        return id;
+    }
+
+    /**
+     * Picks a status consistent with the order's age and the allowed transitions:
+     * recent orders are still moving through the lifecycle, old ones reached a final state.
+     */
+    static OrderStatus statusForAge(SplittableRandom random, int daysAgo) {
+        int roll = random.nextInt(100);
+        if (daysAgo < 2) {
+            return roll < 50 ? OrderStatus.CREATED : roll < 92 ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+        }
+        if (daysAgo < 7) {
+            return roll < 25 ? OrderStatus.CONFIRMED : roll < 88 ? OrderStatus.SHIPPED : OrderStatus.CANCELLED;
+        }
+        if (daysAgo < 14) {
+            return roll < 30 ? OrderStatus.SHIPPED : roll < 91 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+        }
+        return roll < 92 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+    }
+
+    private static int skewedIndex(SplittableRandom random, int size, double skew) {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), skew)));
+    }
+
+    private static int weightedHour(SplittableRandom random) {
+        int total = 0;
+        for (int weight : HOURLY_WEIGHTS) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int hour = 0; hour < HOURLY_WEIGHTS.length; hour++) {
+            roll -= HOURLY_WEIGHTS[hour];
+            if (roll < 0) {
+                return hour;
+            }
+        }
+        return HOURLY_WEIGHTS.length - 1;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max + 1;
+    }
+
+    private void restartIdentity(String table, long nextValue) {
+        // Rows were inserted with explicit ids, so move the identity past them for JPA inserts
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextValue);
+    }
+
+    private static final class ProductCatalog {
+        final long firstId;
+        final String[] names;
+        final double[] prices;
+
+        ProductCatalog(long firstId, int size) {
+            this.firstId = firstId;
+            this.names = new String[size];
+            this.prices = new double[size];
+        }
+    }
+
+    /**
+     * Buffers rows for one INSERT statement and sends them as JDBC batches.
+     */
+    private final class BatchWriter {
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows;
+
+        BatchWriter(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
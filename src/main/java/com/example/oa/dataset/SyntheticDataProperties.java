@@ -0,0 +1,48 @@
+package com.example.oa.dataset;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Configuration for the synthetic dataset generator.
+ *
+ * Bound from the {@code oa.dataset.*} properties. The generator is disabled by
+ * default; enable it with the {@code scale} profile (see application-scale.properties)
+ * or by setting {@code oa.dataset.enabled=true}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oa.dataset")
+public class SyntheticDataProperties {
+
+    /** Run the generator on application startup. */
+    private boolean enabled = false;
+
+    /** Seed for all random streams - the same seed always produces the same rows. */
+    private long seed = 42L;
+
+    private int customers = 1_000;
+    private int products = 500;
+    private int orders = 100_000;
+
+    /** Maximum number of cart items linked to a single order (at least 1 per order). */
+    private int maxItemsPerOrder = 5;
+
+    /** Open cart items (orderId = null) generated on top of the ordered ones. */
+    private int openCartItems = 10_000;
+
+    /** Orders are spread over this many days back from the reference date. */
+    private int historyDays = 365;
+
+    /**
+     * Reference "today" for order dates. Fixed rather than the current date, so the same seed
+     * produces the same rows on every run.
+     */
+    private LocalDate referenceDate = LocalDate.of(2026, 1, 1);
+
+    /** Rows per JDBC batch. */
+    private int batchSize = 5_000;
+}
@@ -0,0 +1,20 @@
+package com.example.oa.dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row counts and timing of a synthetic dataset generation run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyntheticDataReport {
+
+    private long customers;
+    private long products;
+    private long orders;
+    private long cartItems;
+    private long elapsedMillis;
+}
@@ -0,0 +1,29 @@
+package com.example.oa.dataset;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the synthetic dataset on startup when {@code oa.dataset.enabled=true}.
+ *
+ * Example (one million orders):
+ * mvn spring-boot:run -Dspring-boot.run.profiles=scale
+ */
+@Component
+@ConditionalOnProperty(prefix = "oa.dataset", name = "enabled", havingValue = "true")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private SyntheticDataProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(properties);
+    }
+}
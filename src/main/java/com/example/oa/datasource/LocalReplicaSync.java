@@ -0,0 +1,51 @@
+package com.example.oa.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Keeps a local H2 replica in sync by copying a full snapshot of the primary.
+ *
+ * For local development and tests only: every run scripts the primary (H2 SCRIPT) and replays
+ * it into the replica, which stands in for real replication with a lag of up to one interval.
+ * The replica is taken out of rotation while it is rebuilt.
+ *
+ * Created and scheduled by DataSourceRoutingConfig when
+ * {@code oa.datasource.replica.local-sync.enabled=true}.
+ */
+@Slf4j
+public class LocalReplicaSync {
+
+    private final JdbcTemplate primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public LocalReplicaSync(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+    }
+
+    public synchronized void sync() {
+        lagMonitor.beat();
+        List<String> script = primary.queryForList("SCRIPT", String.class);
+        lagMonitor.markUnavailable();
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        } catch (SQLException ex) {
+            log.warn("Local replica sync failed: {}", ex.getMessage());
+        } finally {
+            lagMonitor.check();
+        }
+    }
+}
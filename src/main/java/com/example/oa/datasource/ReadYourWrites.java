@@ -0,0 +1,61 @@
+package com.example.oa.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Read-your-writes state of the current request.
+ *
+ * After a request commits a write, the rest of the request and the client's following
+ * requests (until the time carried in the {@value #COOKIE_NAME} cookie) read from the
+ * primary, so they never see the replica's older state.
+ */
+public final class ReadYourWrites {
+
+    public static final String COOKIE_NAME = "OA_READ_PRIMARY_UNTIL";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * @return true if reads of the current thread must go to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED.remove();
+    }
+
+    /**
+     * Records a committed write: pins the current request to the primary and tells the client
+     * to keep reading from it for the given window. Outside web requests this does nothing.
+     */
+    static void recordWrite(long windowMillis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        pinToPrimary();
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + windowMillis;
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+        response.addCookie(cookie);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.oa.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Measures replication lag with a heartbeat row.
+ *
+ * Each check stamps replication_heartbeat on the primary and reads the stamp that has reached
+ * the replica; the difference is the replica's lag. While the lag exceeds
+ * {@code oa.datasource.replica.max-lag}, or the replica cannot be read, ReplicaRoutingDataSource
+ * sends read-only transactions to the primary as well.
+ *
+ * Created and scheduled by DataSourceRoutingConfig.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String BEAT_SQL = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_SQL = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return last measured lag in milliseconds, or -1 if unknown
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful check.
+     */
+    public void markUnavailable() {
+        healthy = false;
+    }
+
+    /**
+     * Stamps the heartbeat on the primary; the stamp reaches the replica with the data written
+     * before it.
+     */
+    public LocalDateTime beat() {
+        LocalDateTime now = LocalDateTime.now();
+        primary.update(BEAT_SQL, Timestamp.valueOf(now));
+        return now;
+    }
+
+    public void check() {
+        try {
+            LocalDateTime now = beat();
+            List<Timestamp> beats = replica.queryForList(READ_SQL, Timestamp.class);
+            if (beats.isEmpty()) {
+                lagMillis = -1;
+                healthy = false;
+                return;
+            }
+            lagMillis = Math.max(0, Duration.between(beats.get(0).toLocalDateTime(), now).toMillis());
+            healthy = lagMillis <= maxLag.toMillis();
+        } catch (RuntimeException ex) {
+            if (healthy) {
+                log.warn("Replica unavailable, routing reads to the primary: {}", ex.getMessage());
+            }
+            lagMillis = -1;
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.oa.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the optional read replica.
+ *
+ * Bound from the {@code oa.datasource.replica.*} properties. Routing is only set up when
+ * {@code oa.datasource.replica.url} is present; see the {@code replica} profile
+ * (application-replica.properties) for a local setup with two H2 databases.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oa.datasource.replica")
+public class ReplicaProperties {
+
+    /** JDBC URL of the replica; when unset every query goes to spring.datasource. */
+    private String url;
+
+    /** Credentials; default to the primary's. */
+    private String username;
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /** Reads go back to the primary while the replica lags more than this. */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /** Minimum time a client keeps reading from the primary after its own write. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(1);
+
+    /** How often replication lag is measured. */
+    private long lagCheckIntervalMs = 1000;
+
+    private LocalSync localSync = new LocalSync();
+
+    /**
+     * Local-only replication that snapshots the primary H2 database into the replica.
+     */
+    @Data
+    public static class LocalSync {
+
+        private boolean enabled = false;
+
+        private long intervalMs = 1000;
+    }
+}
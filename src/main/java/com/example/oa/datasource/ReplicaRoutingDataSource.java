@@ -0,0 +1,70 @@
+package com.example.oa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary.
+ *
+ * A connection goes to the replica only when the current transaction is
+ * {@code @Transactional(readOnly = true)}, the replica keeps up (ReplicaLagMonitor) and the
+ * request is not pinned to the primary after its own write (ReadYourWrites). Must be wrapped in
+ * a LazyConnectionDataSourceProxy so the connection is fetched after the transaction's
+ * read-only flag has been set.
+ *
+ * Committed write transactions are reported to ReadYourWrites with a window of the measured
+ * lag (at least {@code oa.datasource.replica.read-your-writes-window}).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final Object WRITE_TRACKED = new Object();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long minWindowMillis;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    Duration readYourWritesWindow) {
+        this.lagMonitor = lagMonitor;
+        this.minWindowMillis = readYourWritesWindow.toMillis();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return lagMonitor.isHealthy() && !ReadYourWrites.isPinnedToPrimary() ? Target.REPLICA : Target.PRIMARY;
+        }
+        trackWrite();
+        return Target.PRIMARY;
+    }
+
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadYourWrites.recordWrite(Math.max(minWindowMillis, 2 * lagMonitor.getLagMillis()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+}
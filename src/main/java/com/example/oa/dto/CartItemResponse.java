@@ -1,5 +1,7 @@
 package com.example.oa.dto;
 
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,7 +17,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CartItemResponse {
 
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
     private Long id;
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
     private Long orderId;
     private Long productId;
     private String productName;
@@ -0,0 +1,26 @@
+package com.example.oa.dto;
+
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Price of one open cart item within CartPricingResponse.
+ *
+ * promotion is the name of the product promotion applied to the item, or null.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLinePriceResponse {
+
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
+    private Long cartItemId;
+    private Long productId;
+    private Double subtotal;  // quantity * price
+    private Double discount;
+    private String promotion;
+}
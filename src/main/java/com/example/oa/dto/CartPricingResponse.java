@@ -0,0 +1,26 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cart pricing response DTO.
+ *
+ * Open cart items priced with the active promotions: subtotal before discounts, total
+ * discount, total to pay, per-line prices and the names of the applied promotions.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartPricingResponse {
+
+    private Double subtotal;
+    private Double discount;
+    private Double total;  // subtotal - discount
+    private List<CartLinePriceResponse> lines;
+    private List<String> promotions;
+}
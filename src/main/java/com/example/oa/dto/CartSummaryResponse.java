@@ -0,0 +1,21 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cart summary response DTO.
+ *
+ * Totals over the open cart items (items with orderId = null).
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartSummaryResponse {
+
+    private Long itemCount;
+    private Long totalQuantity;
+    private Double totalAmount;  // sum of quantity * price
+}
@@ -0,0 +1,23 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Customer spend response DTO.
+ *
+ * Number and total amount of the customer's orders, cancelled orders excluded.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSpendResponse {
+
+    private Long customerId;
+    private Long orderCount;
+    private BigDecimal lifetimeSpend;  // sum of totalAmount
+}
@@ -0,0 +1,26 @@
+package com.example.oa.dto;
+
+import com.example.oa.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily revenue response DTO.
+ *
+ * Number and total amount of the orders placed on one day that are in one status.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueResponse {
+
+    private LocalDate date;
+    private OrderStatus status;
+    private Long orderCount;
+    private BigDecimal revenue;  // sum of totalAmount
+}
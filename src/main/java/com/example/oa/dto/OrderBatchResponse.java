@@ -0,0 +1,25 @@
+package com.example.oa.dto;
+
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Multi-get response DTO for GET /api/orders?ids=...
+ * 
+ * Orders are listed in the order the ids were requested;
+ * ids without a matching order are reported in missingIds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResponse {
+
+    private List<OrderResponse> orders;
+    @JsonSerialize(contentUsing = SnowflakeIdSerializer.class)
+    private List<Long> missingIds;
+}
@@ -0,0 +1,24 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of the order change feed.
+ *
+ * Pass nextToken as the since parameter of the next request; hasMore tells whether
+ * further changes are already available.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangeFeedResponse {
+
+    private List<OrderChangeResponse> changes;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the order change feed: the order's current state and its change sequence.
+ *
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangeResponse {
+
+    private Long changeSeq;
+    private LocalDateTime changedAt;
+    private OrderResponse order;
+}
@@ -0,0 +1,27 @@
+package com.example.oa.dto;
+
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of orders in id (= creation) order for keyset paging.
+ *
+ * Pass nextAfter as the after parameter of the next request; hasMore tells whether
+ * further orders exist.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderKeysetPageResponse {
+
+    private List<OrderResponse> orders;
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
+    private Long nextAfter;
+    private boolean hasMore;
+}
@@ -1,6 +1,8 @@
 package com.example.oa.dto;
 
 import com.example.oa.entity.OrderStatus;
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class OrderResponse {
 
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
     private Long id;
     private Long customerId;
     private String customerName;
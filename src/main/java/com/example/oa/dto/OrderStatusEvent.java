@@ -0,0 +1,31 @@
+package com.example.oa.dto;
+
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order status transition pushed on the order event stream.
+ *
+ * Used as the data of "order-status" Server-Sent Events.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusEvent {
+
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
+    private Long orderId;
+    private Long customerId;
+    private String customerName;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private Double totalAmount;
+    private LocalDateTime changedAt;
+}
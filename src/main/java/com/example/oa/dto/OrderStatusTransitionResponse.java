@@ -0,0 +1,28 @@
+package com.example.oa.dto;
+
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.json.SnowflakeIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of an order's status history.
+ *
+ * fromStatus is null for the entry recording the order's creation.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusTransitionResponse {
+
+    @JsonSerialize(using = SnowflakeIdSerializer.class)
+    private Long orderId;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,25 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revenue report response DTO.
+ *
+ * Revenue per day and status, computed from the analytics snapshot taken at snapshotAt (UTC);
+ * orders written after that are not included yet.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueReportResponse {
+
+    private LocalDateTime snapshotAt;
+    private Integer snapshotOrders;
+    private List<DailyRevenueResponse> days;
+}
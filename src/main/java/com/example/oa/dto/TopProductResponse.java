@@ -0,0 +1,23 @@
+package com.example.oa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Top-selling product response DTO.
+ *
+ * quantity is the approximate number of units checked out in the window; the true number is
+ * within maxError of it.
+ * This DTO is provided as part of the skeleton.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopProductResponse {
+
+    private Long productId;
+    private String productName;
+    private Long quantity;
+    private Long maxError;
+}
@@ -1,15 +1,25 @@
 package com.example.oa.entity;
 
+import com.example.oa.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 /**
  * CartItem entity representing an item in a shopping cart.
  * 
  * This entity is provided as part of the skeleton.
  * Candidates will implement CRUD operations for this entity.
+ *
+ * createdAt and updatedAt are maintained by Hibernate (and default to the insert time for rows
+ * written with SQL); open lines not updated within {@code oa.cart.expiry.ttl} are purged by
+ * AbandonedCartPurger.
  */
 @Entity
 @Table(name = "cart_items")
@@ -19,7 +29,7 @@ import lombok.NoArgsConstructor;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = true)
@@ -36,4 +46,18 @@ public class CartItem {
 
     @Column
     private String productName;
+
+    @CreationTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column
+    private LocalDateTime updatedAt;
+
+    public CartItem(Long id, Long orderId, Long productId, Integer quantity, Double price, String productName) {
+        this(id, orderId, productId, quantity, price, productName, null, null);
+    }
 }
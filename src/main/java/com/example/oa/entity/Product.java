@@ -12,6 +12,9 @@ import lombok.NoArgsConstructor;
  * more fields like description, category, stock, etc.
  * 
  * For the OA, assume products exist and can be referenced by ID.
+ *
+ * stock is the number of units available for checkout; null means stock is not tracked for
+ * the product (unlimited). Reservations change it through StockReservations.
  */
 @Entity
 @Table(name = "products")
@@ -32,4 +35,11 @@ public class Product {
 
     @Column
     private String description;
+
+    @Column
+    private Integer stock;
+
+    public Product(Long id, String name, Double price, String description) {
+        this(id, name, price, description, null);
+    }
 }
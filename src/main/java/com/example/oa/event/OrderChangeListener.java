@@ -0,0 +1,120 @@
+package com.example.oa.event;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate listener that turns every Order insert and update into an OrderChangedEvent.
+ *
+ * Listening at the persistence layer catches all write paths (repository saves as well as
+ * dirty checking of managed entities) without the service code having to publish anything.
+ *
+ * Changes are collected per transaction. Just before commit they are handed to every
+ * {@link OrderChangeWriter} on the transaction's connection; after a successful commit they
+ * are published as application events. Rolled-back transactions publish nothing.
+ *
+ * Registered with Hibernate by HibernateListenerConfig.
+ */
+@Component
+public class OrderChangeListener implements PostInsertEventListener, PostUpdateEventListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private List<OrderChangeWriter> writers = List.of();
+
+    // Changes of the transaction currently running in each session
+    private final Map<EventSource, List<OrderChangedEvent>> pending = new ConcurrentHashMap<>();
+
+    // Positions of the Order attributes in Hibernate's state arrays, resolved on the first update
+    private record StatePositions(int status, int customerId, int orderDate, int totalAmount) {
+
+        static StatePositions of(EntityPersister persister) {
+            return new StatePositions(position(persister, "status"), position(persister, "customerId"),
+                    position(persister, "orderDate"), position(persister, "totalAmount"));
+        }
+
+        private static int position(EntityPersister persister, String attribute) {
+            return persister.findAttributeMapping(attribute).getStateArrayPosition();
+        }
+    }
+
+    private volatile StatePositions positions;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Order order) {
+            record(event.getSession(), snapshot(OrderChangedEvent.Type.CREATED, order));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Order order) {
+            Object[] oldState = event.getOldState();
+            if (oldState == null) {
+                record(event.getSession(), snapshot(OrderChangedEvent.Type.UPDATED, order));
+                return;
+            }
+            StatePositions at = positions;
+            if (at == null) {
+                at = StatePositions.of(event.getPersister());
+                positions = at;
+            }
+            record(event.getSession(), new OrderChangedEvent(OrderChangedEvent.Type.UPDATED, order.getId(),
+                    order.getCustomerId(), order.getCustomerName(), order.getOrderDate(),
+                    (OrderStatus) oldState[at.status()], order.getStatus(), order.getTotalAmount(),
+                    (Long) oldState[at.customerId()], (LocalDateTime) oldState[at.orderDate()],
+                    (Double) oldState[at.totalAmount()]));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private OrderChangedEvent snapshot(OrderChangedEvent.Type type, Order order) {
+        return new OrderChangedEvent(type, order.getId(), order.getCustomerId(), order.getCustomerName(),
+                order.getOrderDate(), null, order.getStatus(), order.getTotalAmount());
+    }
+
+    private void record(EventSource session, OrderChangedEvent change) {
+        List<OrderChangedEvent> changes = pending.get(session);
+        if (changes == null) {
+            List<OrderChangedEvent> batch = new ArrayList<>();
+            changes = batch;
+            pending.put(session, batch);
+            if (!writers.isEmpty()) {
+                session.getActionQueue().registerProcess(s -> s.doWork(connection -> {
+                    for (OrderChangeWriter writer : writers) {
+                        writer.write(List.copyOf(batch), connection);
+                    }
+                }));
+            }
+            session.getActionQueue().registerProcess((success, s) -> {
+                pending.remove(session, batch);
+                if (success) {
+                    batch.forEach(eventPublisher::publishEvent);
+                }
+            });
+        }
+        changes.add(change);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.oa.event;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes derived data for order changes inside the transaction that made them.
+ *
+ * Implementations are Spring beans picked up by OrderChangeListener. They run just before the
+ * transaction commits, on its JDBC connection, once per transaction with every order change it
+ * flushed (in flush order). A failing writer rolls the whole transaction back, so derived
+ * tables never disagree with the orders table.
+ */
+public interface OrderChangeWriter {
+
+    void write(List<OrderChangedEvent> changes, Connection connection) throws SQLException;
+}
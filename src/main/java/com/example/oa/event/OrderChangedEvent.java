@@ -0,0 +1,58 @@
+package com.example.oa.event;
+
+import com.example.oa.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event describing a committed change to an Order.
+ * 
+ * Published by OrderChangeListener after the transaction that inserted or updated the
+ * order has committed, so listeners (caches, streams, indexes) never see rolled-back data.
+ * The snapshot holds the order's state after the change; the previous* fields hold the state
+ * before an update (null for CREATED, or when the previous state is unknown).
+ */
+@Value
+@AllArgsConstructor
+public class OrderChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED
+    }
+
+    Type type;
+    Long orderId;
+    Long customerId;
+    String customerName;
+    LocalDateTime orderDate;
+    OrderStatus previousStatus;  // null for CREATED, or when the previous state is unknown
+    OrderStatus status;
+    Double totalAmount;
+    Long previousCustomerId;
+    LocalDateTime previousOrderDate;
+    Double previousTotalAmount;
+
+    public OrderChangedEvent(Type type, Long orderId, Long customerId, String customerName, LocalDateTime orderDate,
+                             OrderStatus previousStatus, OrderStatus status, Double totalAmount) {
+        this(type, orderId, customerId, customerName, orderDate, previousStatus, status, totalAmount,
+                null, null, null);
+    }
+
+    /**
+     * @return true if this change moved the order to a different status
+     */
+    public boolean isStatusChange() {
+        return type == Type.UPDATED && previousStatus != null && previousStatus != status;
+    }
+
+    /**
+     * @return true if this is an update whose previous customer, date, status and amount are known
+     */
+    public boolean hasPreviousState() {
+        return type == Type.UPDATED && previousCustomerId != null && previousOrderDate != null
+                && previousStatus != null && previousTotalAmount != null;
+    }
+}
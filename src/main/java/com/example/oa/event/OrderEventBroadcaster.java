@@ -0,0 +1,149 @@
+package com.example.oa.event;
+
+import com.example.oa.dto.OrderStatusEvent;
+import com.example.oa.entity.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed order status transitions out to Server-Sent Event subscribers.
+ *
+ * This component is provided as part of the skeleton infrastructure. It listens for
+ * {@link OrderChangedEvent}s (published after commit) and hands every status change to each
+ * matching {@link OrderEventSubscription}. Delivery runs on a small pool of sender threads;
+ * subscribers whose buffer ({@code oa.orders.events.buffer-size}) overflows are dropped.
+ *
+ * Metrics: oa.order.events.subscribers, oa.order.events.delivered, oa.order.events.dropped.
+ */
+@Slf4j
+@Component
+public class OrderEventBroadcaster {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.orders.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${oa.orders.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${oa.orders.events.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${oa.orders.events.sender-threads:4}")
+    private int senderThreads;
+
+    private final List<OrderEventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeats;
+    private Counter delivered;
+    private Counter dropped;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory senderThreadFactory = new CustomizableThreadFactory("order-events-");
+        senderThreadFactory.setDaemon(true);
+        sender = Executors.newFixedThreadPool(senderThreads, senderThreadFactory);
+
+        CustomizableThreadFactory heartbeatThreadFactory = new CustomizableThreadFactory("order-events-heartbeat-");
+        heartbeatThreadFactory.setDaemon(true);
+        heartbeats = Executors.newSingleThreadScheduledExecutor(heartbeatThreadFactory);
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("oa.order.events.subscribers", subscriptions, List::size)
+                .description("Open order event streams")
+                .register(meterRegistry);
+        delivered = Counter.builder("oa.order.events.delivered")
+                .description("Order events queued for a subscriber")
+                .register(meterRegistry);
+        dropped = Counter.builder("oa.order.events.dropped")
+                .description("Subscribers dropped because their buffer overflowed")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscriptions.forEach(OrderEventSubscription::close);
+        sender.shutdown();
+    }
+
+    /**
+     * Opens a stream of status transitions.
+     *
+     * @param status only transitions into this status, or null for all
+     * @param customerId only orders of this customer, or null for all
+     */
+    public SseEmitter subscribe(OrderStatus status, Long customerId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        OrderEventSubscription subscription =
+                new OrderEventSubscription(emitter, status, customerId, bufferSize, sender);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent change) {
+        if (!change.isStatusChange() || subscriptions.isEmpty()) {
+            return;
+        }
+        OrderStatusEvent event = new OrderStatusEvent(change.getOrderId(), change.getCustomerId(),
+                change.getCustomerName(), change.getPreviousStatus(), change.getStatus(),
+                change.getTotalAmount(), LocalDateTime.now());
+        long id = sequence.incrementAndGet();
+        for (OrderEventSubscription subscription : subscriptions) {
+            if (!subscription.matches(event)) {
+                continue;
+            }
+            switch (subscription.offer(id, event)) {
+                case QUEUED -> delivered.increment();
+                case OVERFLOW -> {
+                    subscriptions.remove(subscription);
+                    dropped.increment();
+                    log.warn("Dropped slow order event subscriber after {} buffered events", bufferSize);
+                }
+                case CLOSED -> subscriptions.remove(subscription);
+            }
+        }
+    }
+
+    int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void sendHeartbeats() {
+        for (OrderEventSubscription subscription : subscriptions) {
+            subscription.heartbeat();
+            if (subscription.isClosed()) {
+                subscriptions.remove(subscription);
+            }
+        }
+    }
+}
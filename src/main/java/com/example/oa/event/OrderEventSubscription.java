@@ -0,0 +1,131 @@
+package com.example.oa.event;
+
+import com.example.oa.dto.OrderStatusEvent;
+import com.example.oa.entity.OrderStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One client of the order event stream.
+ *
+ * Events are buffered in a bounded queue and written to the SseEmitter by a sender thread, so a
+ * slow client never blocks the thread that committed the change. When the buffer is full the
+ * client is considered too slow and is dropped; it can reconnect and re-read current state.
+ */
+public class OrderEventSubscription {
+
+    static final String EVENT_NAME = "order-status";
+
+    private final SseEmitter emitter;
+    private final OrderStatus status;
+    private final Long customerId;
+    private final BlockingQueue<Envelope> buffer;
+    private final Executor sender;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public OrderEventSubscription(SseEmitter emitter, OrderStatus status, Long customerId,
+                                  int bufferSize, Executor sender) {
+        this.emitter = emitter;
+        this.status = status;
+        this.customerId = customerId;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public boolean matches(OrderStatusEvent event) {
+        return (status == null || status == event.getStatus())
+                && (customerId == null || customerId.equals(event.getCustomerId()));
+    }
+
+    /**
+     * Queues an event for delivery without blocking. A full buffer closes the subscription.
+     */
+    public Delivery offer(long id, OrderStatusEvent event) {
+        if (closed.get()) {
+            return Delivery.CLOSED;
+        }
+        if (!buffer.offer(new Envelope(id, event))) {
+            return close() ? Delivery.OVERFLOW : Delivery.CLOSED;
+        }
+        scheduleDrain();
+        return Delivery.QUEUED;
+    }
+
+    /**
+     * Sends a keep-alive comment when nothing is queued, which also detects dead connections.
+     */
+    public void heartbeat() {
+        if (closed.get() || !buffer.isEmpty()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException | IllegalStateException ex) {
+            close();
+        }
+    }
+
+    /**
+     * @return true if this call closed the subscription, false if it was already closed
+     */
+    public boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        buffer.clear();
+        emitter.complete();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Envelope next;
+            while (!closed.get() && (next = buffer.poll()) != null) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(next.id()))
+                        .name(EVENT_NAME)
+                        .data(next.event(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!closed.get() && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    public enum Delivery {
+        QUEUED,
+        /** The buffer was full; the subscription has just been closed. */
+        OVERFLOW,
+        CLOSED
+    }
+
+    private record Envelope(long id, OrderStatusEvent event) {
+    }
+}
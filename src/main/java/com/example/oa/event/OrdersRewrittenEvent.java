@@ -0,0 +1,18 @@
+package com.example.oa.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Application event for orders written with plain SQL, outside the JPA change tracking.
+ *
+ * Published after the transaction has committed by jobs that move or rewrite order rows through
+ * JDBC (e.g. OrderArchiver). Such writes raise no {@link OrderChangedEvent}, so caches keyed by
+ * order id listen for this event to drop their entries.
+ */
+@Value
+public class OrdersRewrittenEvent {
+
+    List<Long> orderIds;
+}
@@ -0,0 +1,16 @@
+package com.example.oa.exception;
+
+/**
+ * Exception thrown when a request parameter is malformed or out of the accepted range
+ * (e.g., an unknown field name in a sparse fieldset).
+ * 
+ * Results in HTTP 400 Bad Request response.
+ * 
+ * This exception is provided as part of the skeleton infrastructure.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
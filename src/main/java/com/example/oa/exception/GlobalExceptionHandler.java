@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
  * - ResourceNotFoundException -> 404 Not Found
  * - DuplicateResourceException -> 409 Conflict
  * - BusinessRuleException -> 422 Unprocessable Entity
+ * - BadRequestException -> 400 Bad Request (malformed query parameters)
  * - MethodArgumentNotValidException -> 400 Bad Request (validation errors)
  */
 @RestControllerAdvice
@@ -52,6 +53,15 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY.value());
     }
 
+    /**
+     * Handles BadRequestException (400 Bad Request)
+     */
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBadRequest(BadRequestException ex) {
+        return new ErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST.value());
+    }
+
     /**
      * Handles validation errors from @Valid annotations (400 Bad Request)
      */
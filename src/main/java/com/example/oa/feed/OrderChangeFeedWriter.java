@@ -0,0 +1,68 @@
+package com.example.oa.feed;
+
+import com.example.oa.event.OrderChangeWriter;
+import com.example.oa.event.OrderChangedEvent;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the order change feed (order_changes) for every Order write.
+ *
+ * Each changed order gets a new change sequence number, replacing its previous one, so the
+ * feed holds one row per order at its latest change. Numbers are reserved by incrementing the
+ * single counter row in order_change_sequence; the row lock is held until commit, so
+ * sequence numbers become visible in commit order and a reader that has seen sequence N will
+ * never later find a newly committed change below N.
+ */
+@Component
+public class OrderChangeFeedWriter implements OrderChangeWriter {
+
+    private static final String RESERVE_SQL =
+            "UPDATE order_change_sequence SET last_seq = last_seq + ? WHERE id = 1";
+    private static final String LAST_SEQ_SQL =
+            "SELECT last_seq FROM order_change_sequence WHERE id = 1";
+    private static final String UPSERT_SQL =
+            "MERGE INTO order_changes (order_id, change_seq, changed_at) KEY (order_id) VALUES (?, ?, ?)";
+
+    @Override
+    public void write(List<OrderChangedEvent> changes, Connection connection) throws SQLException {
+        // An order changed several times in one transaction needs one entry
+        Set<Long> orderIds = new LinkedHashSet<>();
+        for (OrderChangedEvent change : changes) {
+            orderIds.remove(change.getOrderId());
+            orderIds.add(change.getOrderId());
+        }
+
+        long lastSeq;
+        try (PreparedStatement reserve = connection.prepareStatement(RESERVE_SQL)) {
+            reserve.setInt(1, orderIds.size());
+            reserve.executeUpdate();
+        }
+        try (PreparedStatement select = connection.prepareStatement(LAST_SEQ_SQL);
+             ResultSet rs = select.executeQuery()) {
+            rs.next();
+            lastSeq = rs.getLong(1);
+        }
+
+        long seq = lastSeq - orderIds.size();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SQL)) {
+            for (Long orderId : orderIds) {
+                upsert.setLong(1, orderId);
+                upsert.setLong(2, ++seq);
+                upsert.setTimestamp(3, now);
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.oa.history;
+
+import com.example.oa.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact encodings used by the order_status_history table.
+ *
+ * Status codes are fixed here rather than taken from the enum ordinal, so reordering
+ * OrderStatus can never reinterpret stored history. New statuses need a new code.
+ */
+public final class OrderStatusCodes {
+
+    private static final OrderStatus[] BY_CODE = {
+            null,
+            OrderStatus.CREATED,
+            OrderStatus.CONFIRMED,
+            OrderStatus.SHIPPED,
+            OrderStatus.DELIVERED,
+            OrderStatus.CANCELLED
+    };
+
+    private OrderStatusCodes() {
+    }
+
+    public static short toCode(OrderStatus status) {
+        return switch (status) {
+            case CREATED -> 1;
+            case CONFIRMED -> 2;
+            case SHIPPED -> 3;
+            case DELIVERED -> 4;
+            case CANCELLED -> 5;
+        };
+    }
+
+    /**
+     * @return the status for a code, or null for SQL NULL (code 0 as returned by getShort)
+     */
+    public static OrderStatus fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown order status code " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Hours since the epoch (UTC) of a timestamp: the bucket of the time index.
+     */
+    public static int hourBucket(LocalDateTime time) {
+        return (int) (time.toEpochSecond(ZoneOffset.UTC) / 3600);
+    }
+}
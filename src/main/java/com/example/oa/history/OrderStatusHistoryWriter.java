@@ -0,0 +1,55 @@
+package com.example.oa.history;
+
+import com.example.oa.event.OrderChangeWriter;
+import com.example.oa.event.OrderChangedEvent;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends a row to order_status_history for every order creation and status transition,
+ * with one batched INSERT per transaction.
+ */
+@Component
+public class OrderStatusHistoryWriter implements OrderChangeWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO order_status_history "
+            + "(order_id, from_status, to_status, changed_at, hour_bucket) VALUES (?, ?, ?, ?, ?)";
+
+    @Override
+    public void write(List<OrderChangedEvent> changes, Connection connection) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp changedAt = Timestamp.valueOf(now);
+        int hourBucket = OrderStatusCodes.hourBucket(now);
+
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            int rows = 0;
+            for (OrderChangedEvent change : changes) {
+                boolean created = change.getType() == OrderChangedEvent.Type.CREATED;
+                if (!created && !change.isStatusChange()) {
+                    continue;
+                }
+                insert.setLong(1, change.getOrderId());
+                if (created) {
+                    insert.setNull(2, Types.SMALLINT);
+                } else {
+                    insert.setShort(2, OrderStatusCodes.toCode(change.getPreviousStatus()));
+                }
+                insert.setShort(3, OrderStatusCodes.toCode(change.getStatus()));
+                insert.setTimestamp(4, changedAt);
+                insert.setInt(5, hourBucket);
+                insert.addBatch();
+                rows++;
+            }
+            if (rows > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.oa.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.spi.BeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Hibernate side of {@link SnowflakeId}.
+ *
+ * Hibernate instantiates generators itself; the generator looks up the application's
+ * SnowflakeIdGenerator bean (see IdGeneratorConfig) in the bean container Spring Boot registers
+ * with Hibernate, so entity ids and ids assigned in code share one node id and sequence.
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    private static final BeanContainer.LifecycleOptions SHARED_BEAN = new BeanContainer.LifecycleOptions() {
+        @Override
+        public boolean canUseCachedReferences() {
+            return true;
+        }
+
+        @Override
+        public boolean useJpaCompliantCreation() {
+            return false;
+        }
+    };
+
+    private static final BeanInstanceProducer NO_FALLBACK = new BeanInstanceProducer() {
+        @Override
+        public <B> B produceBeanInstance(Class<B> beanType) {
+            throw new IllegalStateException("No " + beanType.getSimpleName() + " bean for @SnowflakeId");
+        }
+
+        @Override
+        public <B> B produceBeanInstance(String name, Class<B> beanType) {
+            return produceBeanInstance(beanType);
+        }
+    };
+
+    private final SnowflakeIdGenerator generator;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member idMember,
+                                        CustomIdGeneratorCreationContext context) {
+        BeanContainer beans = context.getServiceRegistry().requireService(ManagedBeanRegistry.class)
+                .getBeanContainer();
+        if (beans == null) {
+            throw new IllegalStateException("@SnowflakeId on " + idMember.getName()
+                    + " needs a bean container providing SnowflakeIdGenerator");
+        }
+        generator = beans.getBean(SnowflakeIdGenerator.class, SHARED_BEAN, NO_FALLBACK).getBeanInstance();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return generator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.oa.inventory;
+
+import com.example.oa.entity.CartItem;
+import com.example.oa.exception.BusinessRuleException;
+import com.example.oa.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserves product stock at checkout and returns it when an order is cancelled.
+ *
+ * Every tracked product has an in-memory counter of the units still available. A reservation
+ * first takes the units from the counters with a compare-and-set (no locks), so when a hot
+ * product sells out, further checkouts are rejected without touching the database. The units
+ * taken are then written with one batch of conditional updates
+ * ({@code stock = stock - ? WHERE stock >= ?}) in the checkout transaction; the database stays
+ * authoritative, so counters that are stale (other instances, direct SQL) can never oversell.
+ * Counters are given back if the transaction does not commit, and reloaded from the database
+ * every {@code oa.inventory.refresh-interval-ms}.
+ *
+ * Products whose stock is null are not tracked and can always be reserved.
+ * Metric: oa.inventory.reservations (outcome=reserved|rejected).
+ */
+@Component
+public class StockReservations {
+
+    private static final String RESERVE_SQL = "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RELEASE_SQL = "UPDATE products SET stock = stock + ? WHERE id = ? AND stock IS NOT NULL";
+    private static final String ORDER_QUANTITIES_SQL = "SELECT product_id, SUM(quantity) AS quantity "
+            + "FROM cart_items WHERE order_id = ? GROUP BY product_id ORDER BY product_id";
+
+    // Cached for products without stock tracking
+    private static final AtomicLong UNTRACKED = new AtomicLong();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private Counter reserved;
+    private Counter rejected;
+
+    private record Taken(long productId, int quantity, AtomicLong counter) {
+    }
+
+    @PostConstruct
+    public void init() {
+        reserved = Counter.builder("oa.inventory.reservations").tag("outcome", "reserved")
+                .description("Checkout stock reservations").register(meterRegistry);
+        rejected = Counter.builder("oa.inventory.reservations").tag("outcome", "rejected")
+                .description("Checkout stock reservations").register(meterRegistry);
+    }
+
+    /**
+     * Reserves the quantities of the given cart lines (summed per product).
+     *
+     * @throws BusinessRuleException if a product has fewer units in stock than requested
+     */
+    @Transactional
+    public void reserve(List<CartItem> lines) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        lines.forEach(line -> quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+        reserve(quantities);
+    }
+
+    /**
+     * Reserves units per product id, all or nothing. Joins the caller's transaction; the
+     * reservation only sticks if that transaction commits.
+     *
+     * @throws BusinessRuleException if a product has fewer units in stock than requested
+     */
+    @Transactional
+    public void reserve(Map<Long, Integer> quantities) {
+        List<Taken> taken = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            AtomicLong counter = counter(entry.getKey());
+            if (counter == UNTRACKED) {
+                continue;
+            }
+            if (!take(counter, entry.getValue())) {
+                taken.forEach(t -> t.counter().addAndGet(t.quantity()));
+                rejected.increment();
+                throw new BusinessRuleException("Insufficient stock for product " + entry.getKey());
+            }
+            taken.add(new Taken(entry.getKey(), entry.getValue(), counter));
+        }
+        if (taken.isEmpty()) {
+            reserved.increment();
+            return;
+        }
+        List<Taken> stale = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    taken.forEach(t -> t.counter().addAndGet(t.quantity()));
+                }
+                stale.forEach(t -> counters.remove(t.productId(), t.counter()));
+            }
+        });
+
+        int[][] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, taken, taken.size(), (ps, t) -> {
+            ps.setInt(1, t.quantity());
+            ps.setLong(2, t.productId());
+            ps.setInt(3, t.quantity());
+        });
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    stale.add(taken.get(index));
+                }
+                index++;
+            }
+        }
+        if (!stale.isEmpty()) {
+            // The counter allowed more than the table holds; it is reloaded after the rollback
+            rejected.increment();
+            throw new BusinessRuleException("Insufficient stock for product " + stale.get(0).productId());
+        }
+        reserved.increment();
+    }
+
+    /**
+     * Returns the units of the order's items to stock, e.g. when the order is cancelled.
+     */
+    @Transactional
+    public void release(Long orderId) {
+        List<Taken> released = jdbcTemplate.query(ORDER_QUANTITIES_SQL, (rs, rowNum) ->
+                new Taken(rs.getLong("product_id"), rs.getInt("quantity"), null), orderId);
+        if (released.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_SQL, released, released.size(), (ps, t) -> {
+            ps.setInt(1, t.quantity());
+            ps.setLong(2, t.productId());
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Taken t : released) {
+                    AtomicLong counter = counters.get(t.productId());
+                    if (counter != null && counter != UNTRACKED) {
+                        counter.addAndGet(t.quantity());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return units of the product available for reservation, empty if its stock is not tracked
+     */
+    public OptionalLong available(Long productId) {
+        AtomicLong counter = counter(productId);
+        return counter == UNTRACKED ? OptionalLong.empty() : OptionalLong.of(counter.get());
+    }
+
+    /**
+     * Drops the cached counters; they are reloaded from the products table on next use.
+     * Call after changing stock directly in the table.
+     */
+    @Scheduled(fixedDelayString = "${oa.inventory.refresh-interval-ms:30000}",
+               initialDelayString = "${oa.inventory.refresh-interval-ms:30000}")
+    public void refresh() {
+        counters.clear();
+    }
+
+    private AtomicLong counter(Long productId) {
+        return counters.computeIfAbsent(productId, id -> {
+            List<Integer> stock = jdbcTemplate.queryForList("SELECT stock FROM products WHERE id = ?",
+                    Integer.class, id);
+            if (stock.isEmpty()) {
+                throw new ResourceNotFoundException("Product", id);
+            }
+            return stock.get(0) == null ? UNTRACKED : new AtomicLong(stock.get(0));
+        });
+    }
+
+    private static boolean take(AtomicLong counter, int quantity) {
+        long available = counter.get();
+        while (available >= quantity) {
+            if (counter.compareAndSet(available, available - quantity)) {
+                return true;
+            }
+            available = counter.get();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.oa.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes LocalDateTime values as ISO-8601 strings (yyyy-MM-ddTHH:mm:ss[.SSSSSSSSS]) without going
+ * through DateTimeFormatter for every value.
+ *
+ * The output is identical to {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, which is what the
+ * default JavaTimeModule serializer produces: seconds are always written and the fraction is
+ * written with trailing zeros removed. Years outside 0000-9999 fall back to the cached
+ * formatter, and timestamp output is delegated to the JavaTimeModule serializer.
+ */
+public class LocalDateTimeFastSerializer extends StdSerializer<LocalDateTime> {
+
+    private static final DateTimeFormatter FALLBACK = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    public LocalDateTimeFastSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            LocalDateTimeSerializer.INSTANCE.serialize(value, gen, provider);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(FALLBACK.format(value));
+            return;
+        }
+        char[] buffer = new char[29];
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+        int length = 19;
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            buffer[19] = '.';
+            writeDigits(buffer, 20, nano, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.oa.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compact streaming serializer for Spring Data {@link Page} responses.
+ *
+ * Spring's default PageImpl JSON repeats the paging information in a nested "pageable" object
+ * and writes "sort" twice as objects with five flags each. This serializer writes only what
+ * clients use:
+ *
+ * {
+ *   "content": [...],
+ *   "number": 0, "size": 10, "numberOfElements": 10,
+ *   "totalElements": 42, "totalPages": 5,
+ *   "first": true, "last": false, "empty": false,
+ *   "sort": ["orderDate,desc"]          // only when sorted, in request parameter format
+ * }
+ *
+ * The element serializer is resolved once per element class instead of once per element.
+ */
+public class PageSerializer extends StdSerializer<Page<?>> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PageSerializer() {
+        super((Class) Page.class);
+    }
+
+    @Override
+    public void serialize(Page<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+        gen.writeFieldName("content");
+        writeContent(page.getContent(), gen, provider);
+        gen.writeNumberField("number", page.getNumber());
+        gen.writeNumberField("size", page.getSize());
+        gen.writeNumberField("numberOfElements", page.getNumberOfElements());
+        gen.writeNumberField("totalElements", page.getTotalElements());
+        gen.writeNumberField("totalPages", page.getTotalPages());
+        gen.writeBooleanField("first", page.isFirst());
+        gen.writeBooleanField("last", page.isLast());
+        gen.writeBooleanField("empty", page.isEmpty());
+        if (page.getSort().isSorted()) {
+            gen.writeArrayFieldStart("sort");
+            for (Sort.Order order : page.getSort()) {
+                gen.writeString(order.getProperty() + "," + (order.isAscending() ? "asc" : "desc"));
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeContent(List<?> content, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(content, content.size());
+        Class<?> cachedType = null;
+        JsonSerializer<Object> cachedSerializer = null;
+        for (Object element : content) {
+            if (element == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (element.getClass() != cachedType) {
+                cachedType = element.getClass();
+                cachedSerializer = provider.findValueSerializer(cachedType, null);
+            }
+            cachedSerializer.serialize(element, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
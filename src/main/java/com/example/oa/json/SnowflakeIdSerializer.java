@@ -0,0 +1,38 @@
+package com.example.oa.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes order and cart item ids as JSON strings when a JavaScript number cannot hold them.
+ *
+ * Snowflake ids (see SnowflakeIdGenerator) are around 10^17, beyond 2^53, so a JSON number would
+ * be rounded by JavaScript clients (and any parser reading numbers as doubles); they are written as
+ * decimal strings. Ids within the safe integer range, such as those of rows loaded before the
+ * Snowflake generator, stay plain numbers.
+ */
+public class SnowflakeIdSerializer extends StdSerializer<Long> {
+
+    /** Largest integer a double represents exactly (JavaScript Number.MAX_SAFE_INTEGER). */
+    public static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    public SnowflakeIdSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (isSafe(value)) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeString(value.toString());
+        }
+    }
+
+    public static boolean isSafe(long id) {
+        return id >= -MAX_SAFE_INTEGER && id <= MAX_SAFE_INTEGER;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.oa.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Outbox sink for local testing: keeps the most recent messages in memory.
+ *
+ * Selected with {@code oa.outbox.sink=memory} (the default); holds at most
+ * {@code oa.outbox.memory.capacity} messages, dropping the oldest.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oa.outbox", name = "sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    @Value("${oa.outbox.memory.capacity:10000}")
+    private int capacity;
+
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * @return a copy of the retained messages, oldest first
+     */
+    public synchronized List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+}
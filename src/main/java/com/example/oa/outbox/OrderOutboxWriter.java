@@ -0,0 +1,74 @@
+package com.example.oa.outbox;
+
+import com.example.oa.dto.OrderStatusEvent;
+import com.example.oa.event.OrderChangeWriter;
+import com.example.oa.event.OrderChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends order created / status changed events to the outbox in the writing transaction.
+ *
+ * The rows commit or roll back together with the order change itself. The only cost on the
+ * write path is one batched INSERT; delivery happens later in OutboxRelay.
+ */
+@Component
+public class OrderOutboxWriter implements OrderChangeWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void write(List<OrderChangedEvent> changes, Connection connection) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            int rows = 0;
+            for (OrderChangedEvent change : changes) {
+                String eventType = eventType(change);
+                if (eventType == null) {
+                    continue;
+                }
+                insert.setLong(1, change.getOrderId());
+                insert.setString(2, eventType);
+                insert.setString(3, payload(change, now));
+                insert.setTimestamp(4, createdAt);
+                insert.addBatch();
+                rows++;
+            }
+            if (rows > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static String eventType(OrderChangedEvent change) {
+        if (change.getType() == OrderChangedEvent.Type.CREATED) {
+            return OutboxMessage.ORDER_CREATED;
+        }
+        return change.isStatusChange() ? OutboxMessage.ORDER_STATUS_CHANGED : null;
+    }
+
+    private String payload(OrderChangedEvent change, LocalDateTime changedAt) throws SQLException {
+        OrderStatusEvent event = new OrderStatusEvent(change.getOrderId(), change.getCustomerId(),
+                change.getCustomerName(), change.getPreviousStatus(), change.getStatus(),
+                change.getTotalAmount(), changedAt);
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new SQLException("Could not serialize outbox payload for order " + change.getOrderId(), ex);
+        }
+    }
+}
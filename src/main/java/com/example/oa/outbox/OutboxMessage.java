@@ -0,0 +1,28 @@
+package com.example.oa.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order lifecycle event read from the outbox and handed to an OutboxSink.
+ *
+ * The id increases with every message and is stable across redeliveries, so consumers can
+ * use it to discard duplicates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+    private Long id;
+    private Long aggregateId;
+    private String eventType;
+    private String payload;  // OrderStatusEvent as JSON
+    private LocalDateTime createdAt;
+}
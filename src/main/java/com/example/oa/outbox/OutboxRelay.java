@@ -0,0 +1,288 @@
+package com.example.oa.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drains the order outbox into the configured OutboxSink.
+ *
+ * Every run reads up to {@code oa.outbox.relay.batch-size} messages in id order, splits them
+ * into {@code oa.outbox.relay.parallelism} partitions by order id and publishes the partitions
+ * concurrently. Messages of one order always land in the same partition, so they are delivered
+ * in order. Acknowledged messages are deleted (at-least-once delivery).
+ *
+ * When the sink rejects a partition, its messages are published again one at a time, so a single
+ * bad message only holds back the later messages of its own order; those stay in the outbox for
+ * the next run. A failed message is not retried before its next_attempt_at, which backs off
+ * exponentially from {@code oa.outbox.relay.backoff-initial} up to
+ * {@code oa.outbox.relay.backoff-max}; later messages of its order wait for it.
+ *
+ * A run in which nothing got through is treated as a sink outage: the failed messages back off
+ * (growing with consecutive outage runs) but their attempts are not charged. Otherwise every
+ * failure is counted in the message's attempts and last_error, and after
+ * {@code oa.outbox.relay.max-attempts} the message is moved to order_outbox_dead_letter. The later
+ * messages of its order stay in the outbox until someone resolves the dead letter: moving it back
+ * to order_outbox (same id) retries it, deleting it skips it.
+ *
+ * A single relay instance is assumed; running several would deliver messages more than once.
+ *
+ * Metrics: oa.outbox.published, oa.outbox.failures, oa.outbox.dead-lettered.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oa.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final String SELECT_SQL =
+            "SELECT o.id, o.aggregate_id, o.event_type, o.payload, o.created_at, o.attempts FROM order_outbox o "
+            + "WHERE (o.next_attempt_at IS NULL OR o.next_attempt_at <= ?) "
+            // Keep per-order order: nothing goes ahead of a backing-off or dead-lettered message
+            + "AND NOT EXISTS (SELECT 1 FROM order_outbox e "
+            + "WHERE e.aggregate_id = o.aggregate_id AND e.id < o.id AND e.next_attempt_at > ?) "
+            + "AND NOT EXISTS (SELECT 1 FROM order_outbox_dead_letter d "
+            + "WHERE d.aggregate_id = o.aggregate_id AND d.id < o.id) "
+            + "ORDER BY o.id LIMIT ?";
+    private static final String DELETE_SQL = "DELETE FROM order_outbox WHERE id = ?";
+    private static final String FAILED_SQL =
+            "UPDATE order_outbox SET attempts = attempts + ?, last_error = ?, next_attempt_at = ? WHERE id = ?";
+    private static final String DEAD_LETTER_SQL = "INSERT INTO order_outbox_dead_letter "
+            + "(id, aggregate_id, event_type, payload, created_at, attempts, last_error, dead_at) "
+            + "SELECT id, aggregate_id, event_type, payload, created_at, attempts, last_error, ? "
+            + "FROM order_outbox WHERE id = ? AND attempts >= ?";
+    private static final String DEAD_DELETE_SQL = "DELETE FROM order_outbox WHERE id = ? AND attempts >= ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${oa.outbox.relay.parallelism:4}")
+    private int parallelism;
+
+    @Value("${oa.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${oa.outbox.relay.backoff-initial:1s}")
+    private Duration backoffInitial;
+
+    @Value("${oa.outbox.relay.backoff-max:5m}")
+    private Duration backoffMax;
+
+    // Consecutive runs in which the sink took nothing; only touched by relayBatch
+    private int outageRuns;
+
+    private ExecutorService publishers;
+    private Counter published;
+    private Counter failures;
+    private Counter deadLettered;
+
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("outbox-relay-");
+        threadFactory.setDaemon(true);
+        publishers = Executors.newFixedThreadPool(parallelism, threadFactory);
+        published = Counter.builder("oa.outbox.published")
+                .description("Outbox messages acknowledged by the sink")
+                .register(meterRegistry);
+        failures = Counter.builder("oa.outbox.failures")
+                .description("Outbox message deliveries that failed")
+                .register(meterRegistry);
+        deadLettered = Counter.builder("oa.outbox.dead-lettered")
+                .description("Outbox messages moved to the dead letter table after too many failures")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publishers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${oa.outbox.relay.interval-ms:500}")
+    public void drain() {
+        // Keep going while full batches are delivered, so a backlog drains without waiting;
+        // after a failure wait for the next run
+        while (relayBatch() == batchSize) {
+            // next batch
+        }
+    }
+
+    /**
+     * Publishes one batch of due messages.
+     *
+     * @return number of messages acknowledged by the sink
+     */
+    public synchronized int relayBatch() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> attempts = new HashMap<>();
+        List<OutboxMessage> batch = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            attempts.put(rs.getLong("id"), rs.getInt("attempts"));
+            return new OutboxMessage(
+                    rs.getLong("id"),
+                    rs.getLong("aggregate_id"),
+                    rs.getString("event_type"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+        }, now, now, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, List<OutboxMessage>> partitions = new TreeMap<>();
+        for (OutboxMessage message : batch) {
+            int partition = (int) Math.floorMod(message.getAggregateId(), (long) parallelism);
+            partitions.computeIfAbsent(partition, p -> new ArrayList<>()).add(message);
+        }
+
+        List<CompletableFuture<Delivery>> deliveries = new ArrayList<>(partitions.size());
+        for (List<OutboxMessage> partition : partitions.values()) {
+            deliveries.add(CompletableFuture.supplyAsync(() -> deliver(partition), publishers));
+        }
+        int delivered = 0;
+        List<Failure> failed = new ArrayList<>();
+        for (CompletableFuture<Delivery> delivery : deliveries) {
+            delivered += delivery.join().delivered();
+            failed.addAll(delivery.join().failures());
+        }
+        if (failed.isEmpty()) {
+            outageRuns = 0;
+        } else if (delivered == 0) {
+            // Nothing got through: the sink is down rather than the messages bad
+            outageRuns++;
+            Duration delay = backoff(outageRuns);
+            log.warn("Outbox sink took none of {} messages ({} runs in a row), retrying in {}: {}",
+                    batch.size(), outageRuns, delay, failed.get(0).error().toString());
+            failed.forEach(failure -> postpone(failure, false, delay));
+        } else {
+            outageRuns = 0;
+            failed.forEach(failure -> charge(failure, attempts.get(failure.message().getId()) + 1));
+        }
+        return delivered;
+    }
+
+    private Delivery deliver(List<OutboxMessage> messages) {
+        try {
+            sink.publish(messages);
+            acknowledge(messages);
+            return new Delivery(messages.size(), List.of());
+        } catch (Exception ex) {
+            if (messages.size() == 1) {
+                return new Delivery(0, List.of(new Failure(messages.get(0), ex)));
+            }
+            log.warn("Outbox delivery of {} messages failed, publishing them one by one", messages.size(), ex);
+        }
+
+        // An order whose message failed keeps its later messages for the next run
+        Set<Long> heldOrders = new HashSet<>();
+        List<Failure> failures = new ArrayList<>();
+        int delivered = 0;
+        for (OutboxMessage message : messages) {
+            if (heldOrders.contains(message.getAggregateId())) {
+                continue;
+            }
+            try {
+                sink.publish(List.of(message));
+                acknowledge(List.of(message));
+                delivered++;
+            } catch (Exception ex) {
+                failures.add(new Failure(message, ex));
+                heldOrders.add(message.getAggregateId());
+            }
+        }
+        return new Delivery(delivered, failures);
+    }
+
+    private void acknowledge(List<OutboxMessage> messages) {
+        List<Object[]> ids = messages.stream().map(message -> new Object[] {message.getId()}).toList();
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids);
+        published.increment(messages.size());
+    }
+
+    private void charge(Failure failure, int attempt) {
+        OutboxMessage message = failure.message();
+        String error = postpone(failure, true, backoff(attempt));
+        boolean dead = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            int moved = jdbcTemplate.update(DEAD_LETTER_SQL, Timestamp.valueOf(LocalDateTime.now()),
+                    message.getId(), maxAttempts);
+            jdbcTemplate.update(DEAD_DELETE_SQL, message.getId(), maxAttempts);
+            return moved > 0;
+        }));
+        if (dead) {
+            deadLettered.increment();
+            log.error("Outbox message {} of order {} failed {} times and was moved to order_outbox_dead_letter; "
+                            + "later messages of the order wait until it is resolved: {}",
+                    message.getId(), message.getAggregateId(), maxAttempts, error);
+        } else {
+            log.warn("Outbox message {} of order {} failed (attempt {}), will retry: {}",
+                    message.getId(), message.getAggregateId(), attempt, error);
+        }
+    }
+
+    /**
+     * Records the failure and pushes the message's next_attempt_at out by the given delay.
+     *
+     * @return the recorded error
+     */
+    private String postpone(Failure failure, boolean countAttempt, Duration delay) {
+        failures.increment();
+        String error = String.valueOf(failure.error());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        jdbcTemplate.update(FAILED_SQL, countAttempt ? 1 : 0, error,
+                Timestamp.valueOf(LocalDateTime.now().plus(delay)), failure.message().getId());
+        return error;
+    }
+
+    /**
+     * Delay before the next try after the given number of consecutive failures: backoff-initial,
+     * doubled per further failure and capped at backoff-max.
+     */
+    private Duration backoff(int failuresInARow) {
+        int doublings = Math.min(Math.max(failuresInARow - 1, 0), 30);
+        Duration delay = backoffInitial.multipliedBy(1L << doublings);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private record Delivery(int delivered, List<Failure> failures) {
+    }
+
+    private record Failure(OutboxMessage message, Exception error) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.oa.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of outbox messages (message broker, webhook, file, ...).
+ *
+ * The relay calls publish with messages of one partition in id order; messages of one order
+ * always share a partition. Returning normally acknowledges every message of the call. On an
+ * exception none of them count as delivered and they are retried, so sinks see each message
+ * at least once and must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,99 @@
+package com.example.oa.projection;
+
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.json.SnowflakeIdSerializer;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A validated sparse fieldset parsed from a {@code ?fields=id,status,totalAmount} query parameter.
+ *
+ * Field names are response property names. Repositories select only these columns and
+ * controllers return them as ordered maps, so neither the database nor the JSON writer
+ * touches properties the client did not ask for.
+ */
+public final class FieldSelection {
+
+    public static final List<String> ORDER_FIELDS = List.of(
+            "id", "customerId", "customerName", "orderDate", "status", "totalAmount");
+
+    public static final List<String> CART_ITEM_FIELDS = List.of(
+            "id", "orderId", "productId", "productName", "quantity", "price", "subtotal");
+
+    // Written like SnowflakeIdSerializer writes them in the full responses
+    private static final Set<String> ID_FIELDS = Set.of("id", "orderId");
+
+    private final List<String> fields;
+
+    private FieldSelection(List<String> fields) {
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Parses a comma-separated field list, keeping the requested order and dropping duplicates.
+     *
+     * @throws BadRequestException if the list is empty or names a field outside {@code allowed}
+     */
+    public static FieldSelection parse(String fieldsParam, List<String> allowed) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : fieldsParam.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Allowed fields: " + String.join(",", allowed));
+            }
+            fields.add(name);
+        }
+        if (fields.isEmpty()) {
+            throw new BadRequestException("fields must name at least one of: " + String.join(",", allowed));
+        }
+        return new FieldSelection(new ArrayList<>(fields));
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Copies a tuple whose selections are aliased with the field names into an ordered map.
+     */
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            row.put(field, responseValue(field, tuple.get(field)));
+        }
+        return row;
+    }
+
+    /**
+     * Copies the selected properties of a response object into an ordered map.
+     */
+    public Map<String, Object> toMap(Object response) {
+        BeanWrapper properties = PropertyAccessorFactory.forBeanPropertyAccess(response);
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            row.put(field, responseValue(field, properties.getPropertyValue(field)));
+        }
+        return row;
+    }
+
+    /**
+     * Converts a field value for the response map: ids beyond the JavaScript safe integer range
+     * become strings, other values pass through.
+     */
+    public static Object responseValue(String field, Object value) {
+        return value instanceof Long id && ID_FIELDS.contains(field) && !SnowflakeIdSerializer.isSafe(id)
+                ? id.toString() : value;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.oa.promotion;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Priced cart: list subtotal, discounts of the applied promotions and the total to pay.
+ */
+public record CartPricing(BigDecimal subtotal, BigDecimal discount, BigDecimal total, List<Line> lines,
+                          List<String> promotions) {
+
+    /**
+     * Price of one cart line; promotion is the name of the applied product rule or null.
+     */
+    public record Line(Long cartItemId, Long productId, BigDecimal subtotal, BigDecimal discount,
+                       String promotion) {
+    }
+}
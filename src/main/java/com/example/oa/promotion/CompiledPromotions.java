@@ -0,0 +1,177 @@
+package com.example.oa.promotion;
+
+import com.example.oa.entity.CartItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rules active at compile time, indexed for pricing a cart in one pass.
+ *
+ * Product rules are grouped by productId, so each line only looks at the rules of its own
+ * product; the best of them applies (rules do not stack). Order thresholds are sorted by
+ * minOrderAmount and the highest tier reached is found by binary search. Rules missing a
+ * value their type needs, or with values that cannot be priced (see {@link #invalidReason}),
+ * are logged and left out.
+ * Immutable; valid until {@link #validUntil()}, when the set of active rules changes.
+ */
+@Slf4j
+final class CompiledPromotions {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final PromotionRule[] NONE = new PromotionRule[0];
+
+    private final Map<Long, PromotionRule[]> productRules;
+    private final PromotionRule[] thresholds;
+    private final double[] thresholdAmounts;
+    private final LocalDateTime validUntil;
+
+    private CompiledPromotions(Map<Long, PromotionRule[]> productRules, PromotionRule[] thresholds,
+                               LocalDateTime validUntil) {
+        this.productRules = productRules;
+        this.thresholds = thresholds;
+        this.thresholdAmounts = Arrays.stream(thresholds).mapToDouble(PromotionRule::minOrderAmount).toArray();
+        this.validUntil = validUntil;
+    }
+
+    static CompiledPromotions compile(List<PromotionRule> rules, LocalDateTime now) {
+        Map<Long, List<PromotionRule>> byProduct = new HashMap<>();
+        List<PromotionRule> thresholds = new ArrayList<>();
+        LocalDateTime validUntil = null;
+        for (PromotionRule rule : rules) {
+            String invalid = invalidReason(rule);
+            if (invalid != null) {
+                log.warn("Ignoring promotion rule {} ('{}'): {}", rule.id(), rule.name(), invalid);
+                continue;
+            }
+            // The next start or end of any rule changes the active set
+            for (LocalDateTime boundary : new LocalDateTime[] {rule.startsAt(), rule.endsAt()}) {
+                if (boundary != null && boundary.isAfter(now)
+                        && (validUntil == null || boundary.isBefore(validUntil))) {
+                    validUntil = boundary;
+                }
+            }
+            if (!rule.isActiveAt(now)) {
+                continue;
+            }
+            if (rule.type() == PromotionType.ORDER_THRESHOLD) {
+                thresholds.add(rule);
+            } else {
+                byProduct.computeIfAbsent(rule.productId(), id -> new ArrayList<>()).add(rule);
+            }
+        }
+        Map<Long, PromotionRule[]> productRules = new HashMap<>();
+        byProduct.forEach((productId, list) -> productRules.put(productId, list.toArray(PromotionRule[]::new)));
+        thresholds.sort(Comparator.comparingDouble(PromotionRule::minOrderAmount));
+        return new CompiledPromotions(productRules, thresholds.toArray(PromotionRule[]::new), validUntil);
+    }
+
+    /**
+     * @return why the rule cannot be applied, or null if it is valid
+     */
+    static String invalidReason(PromotionRule rule) {
+        if (rule.type() == null) {
+            return "unknown rule type";
+        }
+        if (rule.percentOff() != null && !(rule.percentOff() > 0 && rule.percentOff() <= 100)) {
+            return "percentOff must be more than 0 and at most 100";
+        }
+        return switch (rule.type()) {
+            case PERCENT_OFF_PRODUCT -> rule.productId() == null || rule.percentOff() == null
+                    ? "productId and percentOff are required" : null;
+            case BUY_X_GET_Y -> rule.productId() == null || rule.buyQuantity() == null || rule.freeQuantity() == null
+                    ? "productId, buyQuantity and freeQuantity are required"
+                    : rule.buyQuantity() < 1 || rule.freeQuantity() < 1
+                    ? "buyQuantity and freeQuantity must be at least 1" : null;
+            case ORDER_THRESHOLD -> rule.minOrderAmount() == null || rule.minOrderAmount() < 0
+                    ? "minOrderAmount must be set and not negative"
+                    : rule.percentOff() == null && (rule.amountOff() == null || rule.amountOff() <= 0)
+                    ? "percentOff or a positive amountOff is required" : null;
+        };
+    }
+
+    LocalDateTime validUntil() {
+        return validUntil;
+    }
+
+    CartPricing price(List<CartItem> items) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal lineDiscounts = BigDecimal.ZERO;
+        List<CartPricing.Line> lines = new ArrayList<>(items.size());
+        List<String> promotions = new ArrayList<>();
+        for (CartItem item : items) {
+            BigDecimal lineSubtotal = BigDecimal.valueOf(item.getPrice())
+                    .multiply(BigDecimal.valueOf(item.getQuantity()));
+            BigDecimal best = BigDecimal.ZERO;
+            PromotionRule applied = null;
+            for (PromotionRule rule : productRules.getOrDefault(item.getProductId(), NONE)) {
+                BigDecimal discount = lineDiscount(rule, item, lineSubtotal);
+                if (discount.compareTo(best) > 0) {
+                    best = discount;
+                    applied = rule;
+                }
+            }
+            if (applied != null && !promotions.contains(applied.name())) {
+                promotions.add(applied.name());
+            }
+            subtotal = subtotal.add(lineSubtotal);
+            lineDiscounts = lineDiscounts.add(best);
+            lines.add(new CartPricing.Line(item.getId(), item.getProductId(), money(lineSubtotal), best,
+                    applied == null ? null : applied.name()));
+        }
+
+        BigDecimal discount = lineDiscounts;
+        BigDecimal discounted = subtotal.subtract(lineDiscounts);
+        PromotionRule tier = threshold(discounted.doubleValue());
+        if (tier != null) {
+            BigDecimal orderDiscount = tier.percentOff() != null
+                    ? percentOf(discounted, tier.percentOff())
+                    : money(BigDecimal.valueOf(tier.amountOff()).min(discounted));
+            discount = discount.add(orderDiscount);
+            promotions.add(tier.name());
+        }
+        subtotal = money(subtotal);
+        return new CartPricing(subtotal, money(discount), subtotal.subtract(money(discount)), lines, promotions);
+    }
+
+    private static BigDecimal lineDiscount(PromotionRule rule, CartItem item, BigDecimal lineSubtotal) {
+        return switch (rule.type()) {
+            case PERCENT_OFF_PRODUCT -> percentOf(lineSubtotal, rule.percentOff());
+            case BUY_X_GET_Y -> {
+                int free = item.getQuantity() / (rule.buyQuantity() + rule.freeQuantity()) * rule.freeQuantity();
+                yield money(BigDecimal.valueOf(item.getPrice()).multiply(BigDecimal.valueOf(free)));
+            }
+            case ORDER_THRESHOLD -> BigDecimal.ZERO;
+        };
+    }
+
+    // Highest tier whose minOrderAmount the amount reaches, or null
+    private PromotionRule threshold(double amount) {
+        int index = Arrays.binarySearch(thresholdAmounts, amount);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // Equal amounts: take the last rule of that amount
+            while (index + 1 < thresholdAmounts.length && thresholdAmounts[index + 1] == amount) {
+                index++;
+            }
+        }
+        return index >= 0 ? thresholds[index] : null;
+    }
+
+    private static BigDecimal percentOf(BigDecimal amount, double percent) {
+        return money(amount.multiply(BigDecimal.valueOf(percent)).divide(HUNDRED));
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.oa.promotion;
+
+import com.example.oa.cart.CartStore;
+import com.example.oa.cart.CartTotals;
+import com.example.oa.entity.CartItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Applies the promotion rules of the promotion_rules table to the open cart.
+ *
+ * The active rules are compiled into a {@link CompiledPromotions} index once, and again only
+ * when the table content changes (checked every {@code oa.promotions.reload-interval-ms}) or a
+ * rule starts or ends. The priced cart is cached until the cart changes (tracked through the
+ * CartTotals change counter) or the rules are recompiled.
+ */
+@Slf4j
+@Component
+public class PromotionEngine {
+
+    private static final String SELECT_SQL = "SELECT id, name, rule_type, product_id, percent_off, buy_quantity, "
+            + "free_quantity, min_order_amount, amount_off, starts_at, ends_at FROM promotion_rules "
+            + "WHERE active = TRUE ORDER BY id";
+
+    private static final RowMapper<PromotionRule> ROW_MAPPER = (rs, rowNum) -> new PromotionRule(
+            rs.getLong("id"),
+            rs.getString("name"),
+            type(rs.getString("rule_type")),
+            rs.getObject("product_id", Long.class),
+            rs.getObject("percent_off", Double.class),
+            rs.getObject("buy_quantity", Integer.class),
+            rs.getObject("free_quantity", Integer.class),
+            rs.getObject("min_order_amount", Double.class),
+            rs.getObject("amount_off", Double.class),
+            toLocalDateTime(rs.getTimestamp("starts_at")),
+            toLocalDateTime(rs.getTimestamp("ends_at")));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    private record Compiled(List<PromotionRule> rules, CompiledPromotions promotions) {
+    }
+
+    private record Priced(Compiled compiled, long cartVersion, CartPricing pricing) {
+    }
+
+    private final AtomicReference<Compiled> compiled = new AtomicReference<>();
+    private final AtomicReference<Priced> lastPriced = new AtomicReference<>();
+
+    /**
+     * Prices the open cart, from cache while neither the cart nor the rules changed.
+     */
+    public CartPricing priceCart() {
+        Compiled current = current();
+        // Read before the lines: a change committed meanwhile leaves this entry outdated
+        long cartVersion = cartTotals.version();
+        Priced priced = lastPriced.get();
+        if (priced != null && priced.compiled() == current && priced.cartVersion() == cartVersion) {
+            return priced.pricing();
+        }
+        CartPricing pricing = current.promotions().price(cartStore.findAll());
+        lastPriced.set(new Priced(current, cartVersion, pricing));
+        return pricing;
+    }
+
+    /**
+     * Prices the given lines, e.g. the lines being checked out.
+     */
+    public CartPricing price(List<CartItem> lines) {
+        return current().promotions().price(lines);
+    }
+
+    /**
+     * Reloads the rules and recompiles them if they changed.
+     */
+    @Scheduled(fixedDelayString = "${oa.promotions.reload-interval-ms:30000}",
+               initialDelayString = "${oa.promotions.reload-interval-ms:30000}")
+    public void reload() {
+        List<PromotionRule> rules = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER);
+        Compiled previous = compiled.get();
+        if (previous == null || !previous.rules().equals(rules)) {
+            compile(rules);
+        }
+    }
+
+    private Compiled current() {
+        Compiled current = compiled.get();
+        if (current == null) {
+            reload();
+            current = compiled.get();
+        }
+        LocalDateTime validUntil = current.promotions().validUntil();
+        if (validUntil != null && !LocalDateTime.now().isBefore(validUntil)) {
+            current = compile(current.rules());
+        }
+        return current;
+    }
+
+    private synchronized Compiled compile(List<PromotionRule> rules) {
+        Compiled next = new Compiled(rules, CompiledPromotions.compile(rules, LocalDateTime.now()));
+        compiled.set(next);
+        log.info("Compiled {} promotion rules", rules.size());
+        return next;
+    }
+
+    // Unknown types are kept as null and rejected by CompiledPromotions
+    private static PromotionType type(String ruleType) {
+        try {
+            return PromotionType.valueOf(ruleType);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.oa.promotion;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of promotion_rules. Fields not used by the rule's type are null; startsAt/endsAt
+ * bound when the rule is active (null = unbounded).
+ */
+public record PromotionRule(long id, String name, PromotionType type, Long productId, Double percentOff,
+                            Integer buyQuantity, Integer freeQuantity, Double minOrderAmount, Double amountOff,
+                            LocalDateTime startsAt, LocalDateTime endsAt) {
+
+    boolean isActiveAt(LocalDateTime time) {
+        return (startsAt == null || !time.isBefore(startsAt)) && (endsAt == null || time.isBefore(endsAt));
+    }
+}
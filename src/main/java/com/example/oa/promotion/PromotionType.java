@@ -0,0 +1,16 @@
+package com.example.oa.promotion;
+
+/**
+ * Kinds of promotion rules (promotion_rules.rule_type).
+ */
+public enum PromotionType {
+
+    /** percentOff percent off every unit of productId */
+    PERCENT_OFF_PRODUCT,
+
+    /** of every buyQuantity + freeQuantity units of productId, freeQuantity are free */
+    BUY_X_GET_Y,
+
+    /** percentOff percent or amountOff off carts worth at least minOrderAmount after product discounts */
+    ORDER_THRESHOLD
+}
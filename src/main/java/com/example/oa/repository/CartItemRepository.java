@@ -18,7 +18,8 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     // TODO: Candidates may add custom query methods if needed
     // Example: List<CartItem> findByOrderId(Long orderId);
     
-    // Hint for Task 13: You'll need to find cart items that are not yet in an order
-    // List<CartItem> findByOrderIdIsNull();
+    // Open cart lines, oldest first (used by JpaCartStore)
+    // Hint for Task 13: checkout goes through CartStore.checkout, which also covers the in-memory store
+    List<CartItem> findByOrderIdIsNullOrderByIdAsc();
 }
 
@@ -0,0 +1,50 @@
+package com.example.oa.repository;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.projection.FieldSelection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Order queries spanning the live orders table and the orders_archive table.
+ *
+ * This fragment is provided as part of the skeleton infrastructure and is mixed into
+ * OrderRepository. Archived orders are returned as detached Order instances.
+ */
+public interface OrderArchiveRepository {
+
+    /**
+     * Pages live and archived orders with the same optional filters as Tasks 7-9.
+     *
+     * The archive is only queried when the date range reaches back to archived dates and the
+     * status filter (if any) is a terminal status; otherwise this is a live-table query.
+     */
+    Page<Order> findAcrossTiers(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                Pageable pageable);
+
+    /**
+     * Sparse fieldset variant of {@link #findAcrossTiers}: pages live and archived orders,
+     * reading only the selected fields. Sort properties must be order fields.
+     */
+    Page<Map<String, Object>> findFieldsAcrossTiers(FieldSelection fields, OrderStatus status,
+                                                    LocalDateTime startDate, LocalDateTime endDate,
+                                                    Pageable pageable);
+
+    /**
+     * Returns up to limit live and archived orders with ids greater than after, in id order.
+     */
+    List<Order> findAfterAcrossTiers(long after, int limit);
+
+    Optional<Order> findArchivedById(Long id);
+
+    Optional<Map<String, Object>> findArchivedFieldsById(Long id, FieldSelection fields);
+
+    List<Order> findArchivedByIds(Collection<Long> ids);
+}
@@ -0,0 +1,223 @@
+package com.example.oa.repository;
+
+import com.example.oa.archive.OrderArchiveHorizon;
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.projection.FieldSelection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * JDBC implementation of OrderArchiveRepository.
+ *
+ * When both tiers are needed, the filtered SELECTs are combined with UNION ALL (an order lives
+ * in exactly one table) and sorted and paged as one result. With order sharding enabled, pages
+ * of the live tier alone are read from the shards (OrderShardRepository); pages that reach the
+ * archive, unpaged queries and pages beyond the scatter window stay on the primary.
+ */
+public class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+
+    private static final String COLUMNS = "id, customer_id, customer_name, order_date, status, total_amount";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "customerId", "customer_id",
+            "customerName", "customer_name",
+            "orderDate", "order_date",
+            "status", "status",
+            "totalAmount", "total_amount");
+
+    private static final RowMapper<Order> ROW_MAPPER = (rs, rowNum) -> new Order(
+            rs.getLong("id"),
+            rs.getLong("customer_id"),
+            rs.getTimestamp("order_date").toLocalDateTime(),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getDouble("total_amount"),
+            rs.getString("customer_name"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderArchiveHorizon horizon;
+
+    @Autowired
+    private OrderShardRepositoryImpl shardRepository;
+
+    @Override
+    public Page<Order> findAcrossTiers(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                       Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(status, startDate, endDate, params);
+        boolean includeArchive = horizon.reaches(startDate) && (status == null || isTerminal(status));
+        if (!includeArchive && shardRepository.routes(pageable)) {
+            return shardRepository.findAcrossShards(status, startDate, endDate, pageable);
+        }
+
+        String source = "SELECT " + COLUMNS + " FROM orders" + where;
+        if (includeArchive) {
+            source += " UNION ALL SELECT " + COLUMNS + " FROM orders_archive" + where;
+        }
+
+        String sql = "SELECT * FROM (" + source + ") t" + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            sql += " LIMIT :limit OFFSET :offset";
+            params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        }
+        List<Order> content = jdbcTemplate.query(sql, params, ROW_MAPPER);
+
+        long total = count("orders", where, params);
+        if (includeArchive) {
+            total += count("orders_archive", where, params);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFieldsAcrossTiers(FieldSelection fields, OrderStatus status,
+                                                           LocalDateTime startDate, LocalDateTime endDate,
+                                                           Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(status, startDate, endDate, params);
+        boolean includeArchive = horizon.reaches(startDate) && (status == null || isTerminal(status));
+        if (!includeArchive && shardRepository.routes(pageable)) {
+            return shardRepository.findAcrossShards(status, startDate, endDate, pageable).map(fields::toMap);
+        }
+
+        String source = "SELECT " + COLUMNS + " FROM orders" + where;
+        if (includeArchive) {
+            source += " UNION ALL SELECT " + COLUMNS + " FROM orders_archive" + where;
+        }
+
+        String sql = "SELECT " + columns(fields) + " FROM (" + source + ") t" + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            sql += " LIMIT :limit OFFSET :offset";
+            params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        }
+        List<Map<String, Object>> content = jdbcTemplate.query(sql, params, (rs, rowNum) -> toMap(rs, fields));
+
+        long total = count("orders", where, params);
+        if (includeArchive) {
+            total += count("orders_archive", where, params);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<Order> findAfterAcrossTiers(long after, int limit) {
+        // Each branch is a primary key range scan; the outer LIMIT keeps the lowest ids of both
+        String sql = "SELECT * FROM ("
+                + "(SELECT " + COLUMNS + " FROM orders WHERE id > :after ORDER BY id LIMIT :limit) UNION ALL "
+                + "(SELECT " + COLUMNS + " FROM orders_archive WHERE id > :after ORDER BY id LIMIT :limit)"
+                + ") t ORDER BY id LIMIT :limit";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("after", after).addValue("limit", limit),
+                ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findArchivedFieldsById(Long id, FieldSelection fields) {
+        return jdbcTemplate.query("SELECT " + columns(fields) + " FROM orders_archive WHERE id = :id",
+                        new MapSqlParameterSource("id", id), (rs, rowNum) -> toMap(rs, fields))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<Order> findArchivedById(Long id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM orders_archive WHERE id = :id",
+                        new MapSqlParameterSource("id", id), ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Order> findArchivedByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM orders_archive WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), ROW_MAPPER);
+    }
+
+    private long count(String table, String where, MapSqlParameterSource params) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + where, params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static String columns(FieldSelection fields) {
+        StringJoiner columns = new StringJoiner(", ");
+        fields.getFields().forEach(field -> columns.add(SORT_COLUMNS.get(field)));
+        return columns.toString();
+    }
+
+    // Same value types as the entity attributes, so rows match the Criteria projections
+    private static Map<String, Object> toMap(ResultSet rs, FieldSelection fields) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>(fields.getFields().size() * 2);
+        for (String field : fields.getFields()) {
+            String column = SORT_COLUMNS.get(field);
+            row.put(field, FieldSelection.responseValue(field, switch (field) {
+                case "id", "customerId" -> rs.getObject(column, Long.class);
+                case "orderDate" -> rs.getObject(column, LocalDateTime.class);
+                case "status" -> rs.getString(column) == null ? null : OrderStatus.valueOf(rs.getString(column));
+                case "totalAmount" -> rs.getObject(column, Double.class);
+                default -> rs.getString(column);
+            }));
+        }
+        return row;
+    }
+
+    private static String where(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add("status = :status");
+            params.addValue("status", status.name());
+        }
+        if (startDate != null) {
+            predicates.add("order_date >= :startDate");
+            params.addValue("startDate", Timestamp.valueOf(startDate));
+        }
+        if (endDate != null) {
+            predicates.add("order_date <= :endDate");
+            params.addValue("endDate", Timestamp.valueOf(endDate));
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Cannot sort by '" + order.getProperty() + "'");
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // id as tie-breaker keeps pages stable
+        orderBy.add("id");
+        return orderBy.toString();
+    }
+
+    private static boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED;
+    }
+}
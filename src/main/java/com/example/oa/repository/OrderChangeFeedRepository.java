@@ -0,0 +1,19 @@
+package com.example.oa.repository;
+
+import com.example.oa.dto.OrderChangeResponse;
+
+import java.util.List;
+
+/**
+ * Change feed queries over the order_changes table.
+ *
+ * This fragment is provided as part of the skeleton infrastructure and is mixed into
+ * OrderRepository.
+ */
+public interface OrderChangeFeedRepository {
+
+    /**
+     * @return up to limit orders whose latest change sequence is above since, by sequence
+     */
+    List<OrderChangeResponse> findChangesSince(long since, int limit);
+}
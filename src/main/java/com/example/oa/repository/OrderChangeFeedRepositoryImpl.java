@@ -0,0 +1,49 @@
+package com.example.oa.repository;
+
+import com.example.oa.dto.OrderChangeResponse;
+import com.example.oa.dto.OrderResponse;
+import com.example.oa.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of OrderChangeFeedRepository.
+ *
+ * The range scan runs on the unique change_seq index and looks each order up by primary key in
+ * orders and, once archived, in orders_archive, so a page costs O(limit) regardless of table size.
+ */
+public class OrderChangeFeedRepositoryImpl implements OrderChangeFeedRepository {
+
+    private static final String CHANGES_SQL =
+            "SELECT c.change_seq, c.changed_at, c.order_id AS id, "
+                    + "COALESCE(o.customer_id, a.customer_id) AS customer_id, "
+                    + "COALESCE(o.customer_name, a.customer_name) AS customer_name, "
+                    + "COALESCE(o.order_date, a.order_date) AS order_date, "
+                    + "COALESCE(o.status, a.status) AS status, "
+                    + "COALESCE(o.total_amount, a.total_amount) AS total_amount "
+                    + "FROM order_changes c "
+                    + "LEFT JOIN orders o ON o.id = c.order_id "
+                    + "LEFT JOIN orders_archive a ON a.id = c.order_id "
+                    + "WHERE c.change_seq > ? AND (o.id IS NOT NULL OR a.id IS NOT NULL) "
+                    + "ORDER BY c.change_seq LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OrderChangeResponse> findChangesSince(long since, int limit) {
+        return jdbcTemplate.query(CHANGES_SQL, (rs, rowNum) -> new OrderChangeResponse(
+                rs.getLong("change_seq"),
+                rs.getTimestamp("changed_at").toLocalDateTime(),
+                new OrderResponse(
+                        rs.getLong("id"),
+                        rs.getLong("customer_id"),
+                        rs.getString("customer_name"),
+                        rs.getTimestamp("order_date").toLocalDateTime(),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getDouble("total_amount"))),
+                since, limit);
+    }
+}
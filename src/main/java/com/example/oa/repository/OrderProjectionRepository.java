@@ -0,0 +1,18 @@
+package com.example.oa.repository;
+
+import com.example.oa.projection.FieldSelection;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sparse fieldset queries for orders (fragment of OrderRepository).
+ *
+ * Only the selected columns are read; each row is returned as an ordered map keyed by
+ * response property name. Paged sparse queries span both tiers and live in
+ * OrderArchiveRepository#findFieldsAcrossTiers.
+ */
+public interface OrderProjectionRepository {
+
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection fields);
+}
@@ -0,0 +1,41 @@
+package com.example.oa.repository;
+
+import com.example.oa.entity.Order;
+import com.example.oa.projection.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Criteria API implementation of {@link OrderProjectionRepository}.
+ */
+public class OrderProjectionRepositoryImpl implements OrderProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> root = query.from(Order.class);
+        select(query, root, fields);
+        query.where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(fields::toMap);
+    }
+
+    private void select(CriteriaQuery<Tuple> query, Root<Order> root, FieldSelection fields) {
+        query.multiselect(fields.getFields().stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList());
+    }
+}
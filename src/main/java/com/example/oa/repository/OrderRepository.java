@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Order repository interface.
@@ -17,11 +18,20 @@ import java.time.LocalDateTime;
  * Candidates may need to add custom query methods for filtering operations.
  * 
  * Extends JpaSpecificationExecutor for advanced filtering (optional approach).
+ * Extends OrderProjectionRepository for sparse fieldset queries (provided infrastructure).
+ * Extends OrderChangeFeedRepository for change feed queries (provided infrastructure).
+ * Extends OrderStatusHistoryRepository for status history queries (provided infrastructure).
+ * Extends OrderArchiveRepository for queries that include archived orders (provided infrastructure).
+ * Extends OrderShardRepository for reads from the optional order shards (provided infrastructure).
+ * Extends OrderRollupRepository for daily and customer rollup queries (provided infrastructure).
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderProjectionRepository, OrderChangeFeedRepository, OrderStatusHistoryRepository,
+        OrderArchiveRepository, OrderShardRepository, OrderRollupRepository {
 
     // TODO: Task 7-9 - Add custom query methods for filtering
+    // (findAcrossTiers from OrderArchiveRepository also covers archived orders)
     // Examples:
     // Page<Order> findByStatus(OrderStatus status, Pageable pageable);
     // Page<Order> findByOrderDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
@@ -0,0 +1,35 @@
+package com.example.oa.repository;
+
+import com.example.oa.dto.CustomerSpendResponse;
+import com.example.oa.dto.DailyRevenueResponse;
+import com.example.oa.entity.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries over the order rollup tables (order_daily_rollup, customer_spend_rollup).
+ *
+ * This fragment is provided as part of the skeleton infrastructure and is mixed into
+ * OrderRepository. It never reads the orders tables.
+ */
+public interface OrderRollupRepository {
+
+    /**
+     * @param status only this status, or null for all
+     * @return order count and revenue per day and status from {@code from} to {@code to}, in date
+     *         and then status order
+     */
+    List<DailyRevenueResponse> findDailyRollups(LocalDate from, LocalDate to, OrderStatus status);
+
+    /**
+     * @return the customer's order count and lifetime spend, empty if they have no orders
+     */
+    Optional<CustomerSpendResponse> findCustomerSpend(Long customerId);
+
+    /**
+     * @return up to limit customers with the highest lifetime spend, highest first
+     */
+    List<CustomerSpendResponse> findTopCustomers(int limit);
+}
@@ -0,0 +1,72 @@
+package com.example.oa.repository;
+
+import com.example.oa.dto.CustomerSpendResponse;
+import com.example.oa.dto.DailyRevenueResponse;
+import com.example.oa.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of OrderRollupRepository.
+ *
+ * Daily rollups are a primary key range scan (order_day, status); top customers walk
+ * ix_customer_spend_rollup_spend backwards. Amounts are stored in cents.
+ */
+public class OrderRollupRepositoryImpl implements OrderRollupRepository {
+
+    private static final String DAILY_SQL = "SELECT order_day, status, order_count, revenue_cents "
+            + "FROM order_daily_rollup WHERE order_day BETWEEN ? AND ?";
+    private static final String DAILY_BY_STATUS_SQL = "SELECT order_day, status, order_count, revenue_cents "
+            + "FROM order_daily_rollup WHERE order_day BETWEEN ? AND ? AND status = ? ORDER BY order_day";
+    private static final String CUSTOMER_SQL =
+            "SELECT customer_id, order_count, spend_cents FROM customer_spend_rollup WHERE customer_id = ?";
+    private static final String TOP_CUSTOMERS_SQL = "SELECT customer_id, order_count, spend_cents "
+            + "FROM customer_spend_rollup ORDER BY spend_cents DESC, customer_id DESC LIMIT ?";
+
+    private static final RowMapper<DailyRevenueResponse> DAILY_MAPPER = (rs, rowNum) -> new DailyRevenueResponse(
+            rs.getDate("order_day").toLocalDate(),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getLong("order_count"),
+            BigDecimal.valueOf(rs.getLong("revenue_cents"), 2));
+
+    private static final RowMapper<CustomerSpendResponse> CUSTOMER_MAPPER = (rs, rowNum) -> new CustomerSpendResponse(
+            rs.getLong("customer_id"),
+            rs.getLong("order_count"),
+            BigDecimal.valueOf(rs.getLong("spend_cents"), 2));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<DailyRevenueResponse> findDailyRollups(LocalDate from, LocalDate to, OrderStatus status) {
+        if (status == null) {
+            List<DailyRevenueResponse> days = new ArrayList<>(
+                    jdbcTemplate.query(DAILY_SQL, DAILY_MAPPER, Date.valueOf(from), Date.valueOf(to)));
+            // Lifecycle order of the statuses within a day, like the analytics snapshot reports
+            days.sort(Comparator.comparing(DailyRevenueResponse::getDate)
+                    .thenComparing(DailyRevenueResponse::getStatus));
+            return days;
+        }
+        return jdbcTemplate.query(DAILY_BY_STATUS_SQL, DAILY_MAPPER, Date.valueOf(from), Date.valueOf(to),
+                status.name());
+    }
+
+    @Override
+    public Optional<CustomerSpendResponse> findCustomerSpend(Long customerId) {
+        return jdbcTemplate.query(CUSTOMER_SQL, CUSTOMER_MAPPER, customerId).stream().findFirst();
+    }
+
+    @Override
+    public List<CustomerSpendResponse> findTopCustomers(int limit) {
+        return jdbcTemplate.query(TOP_CUSTOMERS_SQL, CUSTOMER_MAPPER, limit);
+    }
+}
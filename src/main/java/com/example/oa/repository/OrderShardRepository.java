@@ -0,0 +1,41 @@
+package com.example.oa.repository;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Order reads spread over several databases, sharded by customerId.
+ *
+ * This fragment is provided as part of the skeleton infrastructure and is mixed into
+ * OrderRepository. It is only usable with {@code oa.orders.sharding.enabled=true}; the methods
+ * throw IllegalStateException otherwise. Orders are still saved through JPA on the primary;
+ * OrderShardSync copies every committed change to the shards, and live-tier pages of
+ * findAcrossTiers / findFieldsAcrossTiers are served from here. Results are detached Order
+ * instances.
+ */
+public interface OrderShardRepository {
+
+    /**
+     * Looks an order up by id on all shards (ids do not encode the shard).
+     */
+    Optional<Order> findOnShardById(Long id);
+
+    /**
+     * Pages one customer's orders; reads a single shard.
+     */
+    Page<Order> findOnShardByCustomerId(Long customerId, Pageable pageable);
+
+    /**
+     * Pages orders of all shards with the same optional filters as Tasks 7-9.
+     *
+     * Every shard returns its first offset + size matching rows in the requested sort; the
+     * results are merged, so offset + size is limited by {@code oa.orders.sharding.max-scatter-window}.
+     */
+    Page<Order> findAcrossShards(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                 Pageable pageable);
+}
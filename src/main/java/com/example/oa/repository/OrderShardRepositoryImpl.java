@@ -0,0 +1,208 @@
+package com.example.oa.repository;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.shard.OrderShardingProperties;
+import com.example.oa.shard.OrderShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * JDBC implementation of OrderShardRepository on top of OrderShards.
+ *
+ * Cross-shard pages are scatter-gather: the filtered, sorted top rows of every shard are
+ * fetched in parallel and k-way merged with a comparator that matches the SQL ORDER BY
+ * (nulls first ascending, id as final tie-breaker), then the requested slice is cut out.
+ */
+public class OrderShardRepositoryImpl implements OrderShardRepository {
+
+    private static final String COLUMNS = "id, customer_id, customer_name, order_date, status, total_amount";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "customerId", "customer_id",
+            "customerName", "customer_name",
+            "orderDate", "order_date",
+            "status", "status",
+            "totalAmount", "total_amount");
+
+    // Same ordering as the columns above; status is stored (and sorted) by name
+    private static final Map<String, Function<Order, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", Order::getId,
+            "customerId", Order::getCustomerId,
+            "customerName", Order::getCustomerName,
+            "orderDate", Order::getOrderDate,
+            "status", order -> order.getStatus().name(),
+            "totalAmount", Order::getTotalAmount);
+
+    private static final RowMapper<Order> ROW_MAPPER = (rs, rowNum) -> new Order(
+            rs.getLong("id"),
+            rs.getLong("customer_id"),
+            rs.getTimestamp("order_date").toLocalDateTime(),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getDouble("total_amount"),
+            rs.getString("customer_name"));
+
+    @Autowired(required = false)
+    private OrderShards shards;
+
+    @Autowired
+    private OrderShardingProperties properties;
+
+    @Override
+    public Optional<Order> findOnShardById(Long id) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        return shards().scatter(shard -> shard.query("SELECT " + COLUMNS + " FROM orders WHERE id = :id",
+                        params, ROW_MAPPER))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+
+    /**
+     * @return true if the page can be served by {@link #findAcrossShards}: sharding is enabled,
+     *         the page is paged and not deeper than the scatter window
+     */
+    boolean routes(Pageable pageable) {
+        return shards != null && pageable.isPaged()
+                && pageable.getOffset() + pageable.getPageSize() <= properties.getMaxScatterWindow();
+    }
+
+    @Override
+    public Page<Order> findOnShardByCustomerId(Long customerId, Pageable pageable) {
+        OrderShards shards = shards();
+        MapSqlParameterSource params = new MapSqlParameterSource("customerId", customerId);
+        String where = " WHERE customer_id = :customerId";
+        String sql = "SELECT " + COLUMNS + " FROM orders" + where + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            sql += " LIMIT :limit OFFSET :offset";
+            params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        }
+        int shard = shards.shardForCustomer(customerId);
+        List<Order> content = shards.shard(shard).query(sql, params, ROW_MAPPER);
+        Long total = shards.shard(shard).queryForObject("SELECT COUNT(*) FROM orders" + where, params, Long.class);
+        return new PageImpl<>(content, pageable, total == null ? 0 : total);
+    }
+
+    @Override
+    public Page<Order> findAcrossShards(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                        Pageable pageable) {
+        OrderShards shards = shards();
+        if (pageable.isUnpaged()) {
+            throw new BadRequestException("Cross-shard order queries must be paged");
+        }
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > properties.getMaxScatterWindow()) {
+            throw new BadRequestException("Page is too deep for a cross-shard query (at most "
+                    + properties.getMaxScatterWindow() + " rows); narrow the status or date filters");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(status, startDate, endDate, params);
+        params.addValue("limit", window);
+        String sql = "SELECT " + COLUMNS + " FROM orders" + where + orderBy(pageable.getSort()) + " LIMIT :limit";
+
+        List<List<Order>> perShard = shards.scatter(shard -> shard.query(sql, params, ROW_MAPPER));
+        List<Long> counts = shards.scatter(shard ->
+                shard.queryForObject("SELECT COUNT(*) FROM orders" + where, params, Long.class));
+
+        List<Order> merged = merge(perShard, comparator(pageable.getSort()), window);
+        List<Order> content = merged.subList((int) Math.min(pageable.getOffset(), merged.size()), merged.size());
+        long total = counts.stream().mapToLong(count -> count == null ? 0 : count).sum();
+        return new PageImpl<>(new ArrayList<>(content), pageable, total);
+    }
+
+    private OrderShards shards() {
+        if (shards == null) {
+            throw new IllegalStateException("Order sharding is disabled (oa.orders.sharding.enabled)");
+        }
+        return shards;
+    }
+
+    private static List<Order> merge(List<List<Order>> sortedLists, Comparator<Order> comparator, long limit) {
+        record Cursor(List<Order> rows, int index) {
+            Order head() {
+                return rows.get(index);
+            }
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(Cursor::head, comparator));
+        for (List<Order> rows : sortedLists) {
+            if (!rows.isEmpty()) {
+                heads.add(new Cursor(rows, 0));
+            }
+        }
+        List<Order> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor next = heads.poll();
+            merged.add(next.head());
+            if (next.index() + 1 < next.rows().size()) {
+                heads.add(new Cursor(next.rows(), next.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Order> comparator(Sort sort) {
+        Comparator<Order> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<Order, Comparable> key = (Function) SORT_KEYS.get(order.getProperty());
+            Comparator<Order> next = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Order> byId = Comparator.comparing(Order::getId);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static String where(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add("status = :status");
+            params.addValue("status", status.name());
+        }
+        if (startDate != null) {
+            predicates.add("order_date >= :startDate");
+            params.addValue("startDate", Timestamp.valueOf(startDate));
+        }
+        if (endDate != null) {
+            predicates.add("order_date <= :endDate");
+            params.addValue("endDate", Timestamp.valueOf(endDate));
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Cannot sort by '" + order.getProperty() + "'");
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC NULLS FIRST" : " DESC NULLS LAST"));
+        }
+        // id as tie-breaker keeps pages stable and matches the merge comparator
+        orderBy.add("id");
+        return orderBy.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.oa.repository;
+
+import com.example.oa.dto.OrderStatusTransitionResponse;
+import com.example.oa.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queries over the order_status_history table.
+ *
+ * This fragment is provided as part of the skeleton infrastructure and is mixed into
+ * OrderRepository.
+ */
+public interface OrderStatusHistoryRepository {
+
+    /**
+     * @return the order's transitions, oldest first
+     */
+    List<OrderStatusTransitionResponse> findStatusHistory(Long orderId);
+
+    /**
+     * @param toStatus only transitions into this status, or null for all
+     * @return up to limit transitions at or after since, newest first
+     */
+    List<OrderStatusTransitionResponse> findTransitionsSince(LocalDateTime since, OrderStatus toStatus, int limit);
+}
@@ -0,0 +1,59 @@
+package com.example.oa.repository;
+
+import com.example.oa.dto.OrderStatusTransitionResponse;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.history.OrderStatusCodes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of OrderStatusHistoryRepository.
+ *
+ * Per-order history is a range scan of ix_status_history_order; recent transitions start at
+ * the first hour bucket of the window in ix_status_history_bucket. Both indexes hold every
+ * selected column, so neither query reads the table rows.
+ */
+public class OrderStatusHistoryRepositoryImpl implements OrderStatusHistoryRepository {
+
+    private static final String HISTORY_SQL =
+            "SELECT order_id, from_status, to_status, changed_at FROM order_status_history "
+                    + "WHERE order_id = ? ORDER BY changed_at, id";
+    private static final String RECENT_SQL =
+            "SELECT order_id, from_status, to_status, changed_at FROM order_status_history "
+                    + "WHERE hour_bucket >= ? AND changed_at >= ? ORDER BY changed_at DESC, id DESC LIMIT ?";
+    private static final String RECENT_BY_STATUS_SQL =
+            "SELECT order_id, from_status, to_status, changed_at FROM order_status_history "
+                    + "WHERE hour_bucket >= ? AND to_status = ? AND changed_at >= ? ORDER BY changed_at DESC, id DESC LIMIT ?";
+
+    private static final RowMapper<OrderStatusTransitionResponse> ROW_MAPPER = (rs, rowNum) ->
+            new OrderStatusTransitionResponse(
+                    rs.getLong("order_id"),
+                    OrderStatusCodes.fromCode(rs.getShort("from_status")),
+                    OrderStatusCodes.fromCode(rs.getShort("to_status")),
+                    rs.getTimestamp("changed_at").toLocalDateTime());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OrderStatusTransitionResponse> findStatusHistory(Long orderId) {
+        return jdbcTemplate.query(HISTORY_SQL, ROW_MAPPER, orderId);
+    }
+
+    @Override
+    public List<OrderStatusTransitionResponse> findTransitionsSince(LocalDateTime since, OrderStatus toStatus,
+                                                                    int limit) {
+        int fromBucket = OrderStatusCodes.hourBucket(since);
+        Timestamp sinceTimestamp = Timestamp.valueOf(since);
+        if (toStatus == null) {
+            return jdbcTemplate.query(RECENT_SQL, ROW_MAPPER, fromBucket, sinceTimestamp, limit);
+        }
+        return jdbcTemplate.query(RECENT_BY_STATUS_SQL, ROW_MAPPER,
+                fromBucket, OrderStatusCodes.toCode(toStatus), sinceTimestamp, limit);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.oa.rollup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Verifies the order rollups against orders and orders_archive and repairs them.
+ *
+ * A run first recomputes both rollups with GROUP BY queries and compares them row by row without
+ * taking locks, so order writes committing meanwhile can show up as false mismatches. Only the
+ * days and customers that mismatched are then checked again while holding the order_rollup_state
+ * row (OrderRollupWriter waits for it), with queries restricted to those days' order_date ranges
+ * and those customer ids, so order writes pause only for as long as these targeted queries take.
+ * Rows still wrong are counted and, with {@code oa.rollup.reconcile.repair=true}, overwritten with
+ * the recomputed values. When more than {@code oa.rollup.reconcile.max-targeted-keys} keys
+ * mismatch (e.g. after a bulk load with plain SQL), the full comparison is repeated under the lock.
+ *
+ * Runs on startup and every {@code oa.rollup.reconcile.interval-ms}.
+ * Metrics: oa.rollup.mismatches, oa.rollup.reconcile.
+ */
+@Slf4j
+@Component
+public class OrderRollupReconciler {
+
+    /**
+     * Outcome of a run: rollup rows that disagreed with the orders, and whether they were fixed.
+     */
+    public record Result(int dailyMismatches, int customerMismatches, boolean repaired) {
+
+        public boolean isClean() {
+            return dailyMismatches == 0 && customerMismatches == 0;
+        }
+    }
+
+    private static final String ALL_ORDERS = "(SELECT customer_id, order_date, status, total_amount FROM orders "
+            + "UNION ALL SELECT customer_id, order_date, status, total_amount FROM orders_archive) o";
+    private static final String EXPECTED_DAILY_SQL = "SELECT CAST(order_date AS DATE) AS order_day, status, "
+            + "COUNT(*) AS order_count, SUM(CAST(ROUND(total_amount * 100) AS BIGINT)) AS revenue_cents "
+            + "FROM " + ALL_ORDERS + " GROUP BY order_day, status";
+    private static final String EXPECTED_CUSTOMER_SQL = "SELECT customer_id, COUNT(*) AS order_count, "
+            + "SUM(CAST(ROUND(total_amount * 100) AS BIGINT)) AS spend_cents "
+            + "FROM " + ALL_ORDERS + " WHERE status <> 'CANCELLED' GROUP BY customer_id";
+    private static final String ACTUAL_DAILY_SQL =
+            "SELECT order_day, status, order_count, revenue_cents FROM order_daily_rollup";
+    private static final String ACTUAL_CUSTOMER_SQL =
+            "SELECT customer_id, order_count, spend_cents FROM customer_spend_rollup";
+
+    // Targeted variants: one day's order_date range, or a list of customers
+    private static final String DAY_ORDERS = "(SELECT customer_id, order_date, status, total_amount FROM orders "
+            + "WHERE order_date >= :start AND order_date < :end "
+            + "UNION ALL SELECT customer_id, order_date, status, total_amount FROM orders_archive "
+            + "WHERE order_date >= :start AND order_date < :end) o";
+    private static final String EXPECTED_DAY_SQL = "SELECT CAST(order_date AS DATE) AS order_day, status, "
+            + "COUNT(*) AS order_count, SUM(CAST(ROUND(total_amount * 100) AS BIGINT)) AS revenue_cents "
+            + "FROM " + DAY_ORDERS + " GROUP BY order_day, status";
+    private static final String ACTUAL_DAY_SQL =
+            "SELECT order_day, status, order_count, revenue_cents FROM order_daily_rollup WHERE order_day = :day";
+    private static final String CUSTOMERS_ORDERS = "(SELECT customer_id, order_date, status, total_amount FROM orders "
+            + "WHERE customer_id IN (:ids) "
+            + "UNION ALL SELECT customer_id, order_date, status, total_amount FROM orders_archive "
+            + "WHERE customer_id IN (:ids)) o";
+    private static final String EXPECTED_CUSTOMERS_SQL = "SELECT customer_id, COUNT(*) AS order_count, "
+            + "SUM(CAST(ROUND(total_amount * 100) AS BIGINT)) AS spend_cents "
+            + "FROM " + CUSTOMERS_ORDERS + " WHERE status <> 'CANCELLED' GROUP BY customer_id";
+    private static final String ACTUAL_CUSTOMERS_SQL =
+            "SELECT customer_id, order_count, spend_cents FROM customer_spend_rollup WHERE customer_id IN (:ids)";
+
+    private static final int IN_LIST_SIZE = 500;
+
+    private static final String LOCK_SQL = "UPDATE order_rollup_state SET reconciled_at = ? WHERE id = 1";
+    private static final String DAILY_MERGE_SQL = "MERGE INTO order_daily_rollup "
+            + "(order_day, status, order_count, revenue_cents) KEY (order_day, status) VALUES (?, ?, ?, ?)";
+    private static final String DAILY_DELETE_SQL = "DELETE FROM order_daily_rollup WHERE order_day = ? AND status = ?";
+    private static final String CUSTOMER_MERGE_SQL = "MERGE INTO customer_spend_rollup "
+            + "(customer_id, order_count, spend_cents) KEY (customer_id) VALUES (?, ?, ?)";
+    private static final String CUSTOMER_DELETE_SQL = "DELETE FROM customer_spend_rollup WHERE customer_id = ?";
+
+    private record Day(LocalDate day, String status) {
+    }
+
+    private record Totals(long orders, long cents) {
+    }
+
+    // Expected and actual rows of the keys compared in one pass
+    private record Comparison(Map<Day, Totals> expectedDays, Map<Day, Totals> actualDays,
+                              Map<Long, Totals> expectedCustomers, Map<Long, Totals> actualCustomers) {
+
+        List<Day> wrongDays() {
+            return diff(expectedDays, actualDays);
+        }
+
+        List<Long> wrongCustomers() {
+            return diff(expectedCustomers, actualCustomers);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oa.rollup.reconcile.repair:true}")
+    private boolean repair;
+
+    @Value("${oa.rollup.reconcile.max-targeted-keys:1000}")
+    private int maxTargetedKeys;
+
+    private Counter mismatches;
+    private Timer reconcileTimer;
+
+    @PostConstruct
+    public void init() {
+        mismatches = Counter.builder("oa.rollup.mismatches")
+                .description("Rollup rows found to disagree with the orders")
+                .register(meterRegistry);
+        reconcileTimer = Timer.builder("oa.rollup.reconcile")
+                .description("Time to verify the order rollups")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${oa.rollup.reconcile.interval-ms:3600000}",
+               initialDelayString = "${oa.rollup.reconcile.interval-ms:3600000}")
+    public void run() {
+        reconcile();
+    }
+
+    /**
+     * Verifies both rollups and, if enabled, repairs the rows that disagree.
+     */
+    public synchronized Result reconcile() {
+        return reconcileTimer.record(() -> {
+            Comparison unlocked = compareAll();
+            Set<LocalDate> days = new TreeSet<>();
+            unlocked.wrongDays().forEach(day -> days.add(day.day()));
+            List<Long> customerIds = unlocked.wrongCustomers();
+            if (days.isEmpty() && customerIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(tx ->
+                        jdbcTemplate.update(LOCK_SQL, Timestamp.valueOf(LocalDateTime.now())));
+                return new Result(0, 0, false);
+            }
+            boolean targeted = days.size() + customerIds.size() <= maxTargetedKeys;
+            Result result = transactionTemplate.execute(tx -> {
+                jdbcTemplate.update(LOCK_SQL, Timestamp.valueOf(LocalDateTime.now()));
+                Comparison locked = targeted ? compare(days, customerIds) : compareAll();
+                List<Day> wrongDays = locked.wrongDays();
+                List<Long> wrongCustomers = locked.wrongCustomers();
+                if (repair) {
+                    repairDays(wrongDays, locked.expectedDays());
+                    repairCustomers(wrongCustomers, locked.expectedCustomers());
+                }
+                return new Result(wrongDays.size(), wrongCustomers.size(),
+                        repair && !(wrongDays.isEmpty() && wrongCustomers.isEmpty()));
+            });
+            if (!result.isClean()) {
+                mismatches.increment(result.dailyMismatches() + result.customerMismatches());
+                log.warn("Order rollups disagreed with the orders in {} daily and {} customer rows ({})",
+                        result.dailyMismatches(), result.customerMismatches(),
+                        result.repaired() ? "repaired" : "not repaired");
+            }
+            return result;
+        });
+    }
+
+    private Comparison compareAll() {
+        Comparison comparison = new Comparison(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+        jdbcTemplate.query(EXPECTED_DAILY_SQL, rs -> {
+            putDay(comparison.expectedDays(), rs);
+        });
+        jdbcTemplate.query(ACTUAL_DAILY_SQL, rs -> {
+            putDay(comparison.actualDays(), rs);
+        });
+        jdbcTemplate.query(EXPECTED_CUSTOMER_SQL, rs -> {
+            putCustomer(comparison.expectedCustomers(), rs);
+        });
+        jdbcTemplate.query(ACTUAL_CUSTOMER_SQL, rs -> {
+            putCustomer(comparison.actualCustomers(), rs);
+        });
+        return comparison;
+    }
+
+    // Recomputes only the given days (all statuses) and customers
+    private Comparison compare(Collection<LocalDate> days, List<Long> customerIds) {
+        Comparison comparison = new Comparison(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+        for (LocalDate day : days) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("start", Timestamp.valueOf(day.atStartOfDay()))
+                    .addValue("end", Timestamp.valueOf(day.plusDays(1).atStartOfDay()))
+                    .addValue("day", Date.valueOf(day));
+            namedJdbcTemplate.query(EXPECTED_DAY_SQL, params, rs -> {
+                putDay(comparison.expectedDays(), rs);
+            });
+            namedJdbcTemplate.query(ACTUAL_DAY_SQL, params, rs -> {
+                putDay(comparison.actualDays(), rs);
+            });
+        }
+        for (int from = 0; from < customerIds.size(); from += IN_LIST_SIZE) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids",
+                    customerIds.subList(from, Math.min(from + IN_LIST_SIZE, customerIds.size())));
+            namedJdbcTemplate.query(EXPECTED_CUSTOMERS_SQL, params, rs -> {
+                putCustomer(comparison.expectedCustomers(), rs);
+            });
+            namedJdbcTemplate.query(ACTUAL_CUSTOMERS_SQL, params, rs -> {
+                putCustomer(comparison.actualCustomers(), rs);
+            });
+        }
+        return comparison;
+    }
+
+    private static void putDay(Map<Day, Totals> days, ResultSet rs) throws SQLException {
+        days.put(new Day(rs.getDate("order_day").toLocalDate(), rs.getString("status")),
+                new Totals(rs.getLong("order_count"), rs.getLong("revenue_cents")));
+    }
+
+    private static void putCustomer(Map<Long, Totals> customers, ResultSet rs) throws SQLException {
+        customers.put(rs.getLong("customer_id"), new Totals(rs.getLong(2), rs.getLong(3)));
+    }
+
+    private static <K> List<K> diff(Map<K, Totals> expected, Map<K, Totals> actual) {
+        Set<K> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        List<K> wrong = new ArrayList<>();
+        for (K key : keys) {
+            if (!Objects.equals(expected.get(key), actual.get(key))) {
+                wrong.add(key);
+            }
+        }
+        return wrong;
+    }
+
+    private void repairDays(List<Day> days, Map<Day, Totals> expected) {
+        List<Object[]> merges = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Day day : days) {
+            Totals totals = expected.get(day);
+            if (totals == null) {
+                deletes.add(new Object[]{Date.valueOf(day.day()), day.status()});
+            } else {
+                merges.add(new Object[]{Date.valueOf(day.day()), day.status(), totals.orders(), totals.cents()});
+            }
+        }
+        if (!merges.isEmpty()) {
+            jdbcTemplate.batchUpdate(DAILY_MERGE_SQL, merges);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DAILY_DELETE_SQL, deletes);
+        }
+    }
+
+    private void repairCustomers(List<Long> customerIds, Map<Long, Totals> expected) {
+        List<Object[]> merges = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            Totals totals = expected.get(customerId);
+            if (totals == null) {
+                deletes.add(new Object[]{customerId});
+            } else {
+                merges.add(new Object[]{customerId, totals.orders(), totals.cents()});
+            }
+        }
+        if (!merges.isEmpty()) {
+            jdbcTemplate.batchUpdate(CUSTOMER_MERGE_SQL, merges);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(CUSTOMER_DELETE_SQL, deletes);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.oa.rollup;
+
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.event.OrderChangeWriter;
+import com.example.oa.event.OrderChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps order_daily_rollup and customer_spend_rollup in step with every order write.
+ *
+ * Each change is turned into deltas: a created order adds itself to its day/status row and,
+ * unless cancelled, to its customer's spend; an update takes the previous state out and the new
+ * one in, so status changes (including cancellations) move the order between rows. The deltas of
+ * a transaction are summed per row and applied with batched UPDATEs (INSERTs for new rows) in the
+ * transaction itself, after locking the order_rollup_state row.
+ *
+ * Updates whose previous state is unknown cannot be turned into deltas; they are counted in
+ * oa.rollup.unresolved and left to OrderRollupReconciler.
+ */
+@Slf4j
+@Component
+public class OrderRollupWriter implements OrderChangeWriter {
+
+    private static final String LOCK_SQL = "UPDATE order_rollup_state SET version = version + 1 WHERE id = 1";
+
+    private static final String DAILY_UPDATE_SQL = "UPDATE order_daily_rollup "
+            + "SET order_count = order_count + ?, revenue_cents = revenue_cents + ? WHERE order_day = ? AND status = ?";
+    private static final String DAILY_INSERT_SQL = "INSERT INTO order_daily_rollup "
+            + "(order_count, revenue_cents, order_day, status) VALUES (?, ?, ?, ?)";
+    private static final String DAILY_PRUNE_SQL =
+            "DELETE FROM order_daily_rollup WHERE order_day = ? AND status = ? AND order_count = 0";
+
+    private static final String CUSTOMER_UPDATE_SQL = "UPDATE customer_spend_rollup "
+            + "SET order_count = order_count + ?, spend_cents = spend_cents + ? WHERE customer_id = ?";
+    private static final String CUSTOMER_INSERT_SQL = "INSERT INTO customer_spend_rollup "
+            + "(order_count, spend_cents, customer_id) VALUES (?, ?, ?)";
+    private static final String CUSTOMER_PRUNE_SQL =
+            "DELETE FROM customer_spend_rollup WHERE customer_id = ? AND order_count = 0";
+
+    private record Day(LocalDate day, OrderStatus status) {
+    }
+
+    private static final class Delta {
+        long orders;
+        long cents;
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter unresolved;
+
+    @PostConstruct
+    public void init() {
+        unresolved = Counter.builder("oa.rollup.unresolved")
+                .description("Order updates without a known previous state, left to reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void write(List<OrderChangedEvent> changes, Connection connection) throws SQLException {
+        Map<Day, Delta> days = new LinkedHashMap<>();
+        Map<Long, Delta> customers = new LinkedHashMap<>();
+        for (OrderChangedEvent change : changes) {
+            if (change.getType() == OrderChangedEvent.Type.UPDATED) {
+                if (!change.hasPreviousState()) {
+                    unresolved.increment();
+                    log.debug("Rollups not updated for order {}: previous state unknown", change.getOrderId());
+                    continue;
+                }
+                add(days, customers, -1, change.getPreviousCustomerId(), change.getPreviousOrderDate(),
+                        change.getPreviousStatus(), change.getPreviousTotalAmount());
+            }
+            add(days, customers, 1, change.getCustomerId(), change.getOrderDate(),
+                    change.getStatus(), change.getTotalAmount());
+        }
+        days.values().removeIf(delta -> delta.orders == 0 && delta.cents == 0);
+        customers.values().removeIf(delta -> delta.orders == 0 && delta.cents == 0);
+        if (days.isEmpty() && customers.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement lock = connection.prepareStatement(LOCK_SQL)) {
+            lock.executeUpdate();
+        }
+        apply(connection, days, DAILY_UPDATE_SQL, DAILY_INSERT_SQL, DAILY_PRUNE_SQL, (statement, index, day) -> {
+            statement.setDate(index, Date.valueOf(day.day()));
+            statement.setString(index + 1, day.status().name());
+        });
+        apply(connection, customers, CUSTOMER_UPDATE_SQL, CUSTOMER_INSERT_SQL, CUSTOMER_PRUNE_SQL,
+                (statement, index, customerId) -> statement.setLong(index, customerId));
+    }
+
+    private static void add(Map<Day, Delta> days, Map<Long, Delta> customers, int sign, Long customerId,
+                            LocalDateTime orderDate, OrderStatus status, Double totalAmount) {
+        long cents = Math.round(totalAmount * 100);
+        Delta day = days.computeIfAbsent(new Day(orderDate.toLocalDate(), status), key -> new Delta());
+        day.orders += sign;
+        day.cents += sign * cents;
+        if (status != OrderStatus.CANCELLED) {
+            Delta customer = customers.computeIfAbsent(customerId, key -> new Delta());
+            customer.orders += sign;
+            customer.cents += sign * cents;
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeyBinder<K> {
+        void bind(PreparedStatement statement, int index, K key) throws SQLException;
+    }
+
+    private static <K> void apply(Connection connection, Map<K, Delta> deltas, String updateSql, String insertSql,
+                                  String pruneSql, KeyBinder<K> keyBinder) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(deltas.keySet());
+        int[] updated;
+        try (PreparedStatement update = connection.prepareStatement(updateSql)) {
+            for (K key : keys) {
+                update.setLong(1, deltas.get(key).orders);
+                update.setLong(2, deltas.get(key).cents);
+                keyBinder.bind(update, 3, key);
+                update.addBatch();
+            }
+            updated = update.executeBatch();
+        }
+
+        List<K> missing = new ArrayList<>();
+        List<K> shrunk = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(keys.get(i));
+            } else if (deltas.get(keys.get(i)).orders < 0) {
+                shrunk.add(keys.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                for (K key : missing) {
+                    insert.setLong(1, deltas.get(key).orders);
+                    insert.setLong(2, deltas.get(key).cents);
+                    keyBinder.bind(insert, 3, key);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        // Rows of days and customers without orders left are removed
+        if (!shrunk.isEmpty()) {
+            try (PreparedStatement prune = connection.prepareStatement(pruneSql)) {
+                for (K key : shrunk) {
+                    keyBinder.bind(prune, 1, key);
+                    prune.addBatch();
+                }
+                prune.executeBatch();
+            }
+        }
+    }
+}
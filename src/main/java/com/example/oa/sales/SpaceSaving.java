@@ -0,0 +1,106 @@
+package com.example.oa.sales;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter summary: approximate top-K of a weighted stream in constant memory.
+ *
+ * At most {@code capacity} keys are counted. A new key arriving when the summary is full
+ * replaces the key with the smallest count and inherits that count as its possible
+ * overestimate, so every reported count is an upper bound that is at most {@code error} too
+ * high, and every key whose true count exceeds total / capacity is guaranteed to be present.
+ * Not thread-safe.
+ */
+final class SpaceSaving {
+
+    static final class Entry {
+        final long key;
+        String label;
+        long count;
+        long error;
+
+        Entry(long key, String label, long count, long error) {
+            this.key = key;
+            this.label = label;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Long, Entry> entries;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    void add(long key, String label, long weight) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.count += weight;
+            entry.label = label;
+            return;
+        }
+        if (entries.size() < capacity) {
+            entries.put(key, new Entry(key, label, weight, 0));
+            return;
+        }
+        Entry min = null;
+        for (Entry candidate : entries.values()) {
+            if (min == null || candidate.count < min.count) {
+                min = candidate;
+            }
+        }
+        entries.remove(min.key);
+        entries.put(key, new Entry(key, label, min.count + weight, min.count));
+    }
+
+    /**
+     * Combines summaries of disjoint parts of the stream (e.g. time buckets). Counts are summed;
+     * a key missing from a full summary may have been counted there up to that summary's
+     * smallest count, which is added to its error instead.
+     */
+    static Map<Long, Entry> merge(List<SpaceSaving> summaries) {
+        Map<Long, Entry> merged = new HashMap<>();
+        for (SpaceSaving summary : summaries) {
+            for (Entry entry : summary.entries.values()) {
+                Entry total = merged.computeIfAbsent(entry.key, key -> new Entry(key, entry.label, 0, 0));
+                total.count += entry.count;
+                total.error += entry.error;
+            }
+        }
+        for (SpaceSaving summary : summaries) {
+            long missedAtMost = summary.minCount();
+            if (missedAtMost > 0) {
+                merged.values().stream()
+                        .filter(entry -> !summary.entries.containsKey(entry.key))
+                        .forEach(entry -> entry.error += missedAtMost);
+            }
+        }
+        return merged;
+    }
+
+    // Largest count a key not in the summary can have had; 0 while the summary is not full
+    private long minCount() {
+        if (entries.size() < capacity) {
+            return 0;
+        }
+        return entries.values().stream().mapToLong(entry -> entry.count).min().orElse(0);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    static List<Entry> top(Map<Long, Entry> counts, int limit) {
+        List<Entry> sorted = new ArrayList<>(counts.values());
+        sorted.sort(Comparator.comparingLong((Entry entry) -> entry.count).reversed()
+                .thenComparingLong(entry -> entry.key));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.oa.sales;
+
+import com.example.oa.cart.CartCheckedOutEvent;
+import com.example.oa.entity.CartItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate best-selling products (by units checked out) over the last hour and day.
+ *
+ * Every committed checkout adds its lines to the current minute and the current hour bucket,
+ * each a {@link SpaceSaving} summary of {@code oa.sales.top.capacity} products. The last-hour
+ * ranking merges the 60 minute buckets, the last-day ranking the 24 hour buckets; buckets are
+ * reused round-robin, so memory stays constant however many orders there are. Counts are
+ * approximate: see {@link TopSeller#maxError()}.
+ */
+@Component
+public class TopSellers {
+
+    /**
+     * A ranked product; the true number of units is within maxError of quantity.
+     */
+    public record TopSeller(long productId, String productName, long quantity, long maxError) {
+    }
+
+    private static final class Bucket {
+        long period = -1;
+        final SpaceSaving summary;
+
+        Bucket(int capacity) {
+            summary = new SpaceSaving(capacity);
+        }
+    }
+
+    private final Bucket[] minutes = new Bucket[60];
+    private final Bucket[] hours = new Bucket[24];
+    private final int capacity;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TopSellers(@Value("${oa.sales.top.capacity:200}") int capacity) {
+        this(capacity, System::currentTimeMillis);
+    }
+
+    TopSellers(int capacity, LongSupplier clock) {
+        this.capacity = capacity;
+        this.clock = clock;
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = new Bucket(capacity);
+        }
+        for (int i = 0; i < hours.length; i++) {
+            hours[i] = new Bucket(capacity);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCheckout(CartCheckedOutEvent event) {
+        record(event.items());
+    }
+
+    public synchronized void record(List<CartItem> items) {
+        long minute = TimeUnit.MILLISECONDS.toMinutes(clock.getAsLong());
+        Bucket minuteBucket = current(minutes, minute);
+        Bucket hourBucket = current(hours, minute / 60);
+        for (CartItem item : items) {
+            minuteBucket.summary.add(item.getProductId(), item.getProductName(), item.getQuantity());
+            hourBucket.summary.add(item.getProductId(), item.getProductName(), item.getQuantity());
+        }
+    }
+
+    /**
+     * @return the products with the most units sold in the last hour, best first
+     */
+    public List<TopSeller> lastHour(int limit) {
+        return top(minutes, TimeUnit.MILLISECONDS.toMinutes(clock.getAsLong()), limit);
+    }
+
+    /**
+     * @return the products with the most units sold in the last 24 hours, best first
+     */
+    public List<TopSeller> lastDay(int limit) {
+        return top(hours, TimeUnit.MILLISECONDS.toHours(clock.getAsLong()), limit);
+    }
+
+    private synchronized List<TopSeller> top(Bucket[] ring, long now, int limit) {
+        List<SpaceSaving> live = new ArrayList<>();
+        for (Bucket bucket : ring) {
+            if (bucket.period > now - ring.length && bucket.period <= now) {
+                live.add(bucket.summary);
+            }
+        }
+        return SpaceSaving.top(SpaceSaving.merge(live), limit).stream()
+                .map(entry -> new TopSeller(entry.key, entry.label, entry.count, entry.error))
+                .toList();
+    }
+
+    private static Bucket current(Bucket[] ring, long period) {
+        Bucket bucket = ring[(int) (period % ring.length)];
+        if (bucket.period != period) {
+            bucket.summary.clear();
+            bucket.period = period;
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.oa.search;
+
+import com.example.oa.cart.CartCheckedOutEvent;
+import com.example.oa.entity.CartItem;
+import com.example.oa.event.OrderChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Substring search over orders by customer name and by the product names of their items.
+ *
+ * Two {@link TrigramIndex}es are kept in memory and in sync with committed writes:
+ * order inserts and updates (OrderChangedEvent) and checkouts (CartCheckedOutEvent).
+ * Archived orders stay searchable. {@link #rebuild()} re-reads orders, orders_archive and
+ * the checked-out cart_items; it runs on startup and can be triggered again after bulk loads
+ * that bypass the events (e.g. the synthetic dataset) through the searchindex actuator
+ * endpoint (OrderSearchIndexEndpoint). Orders deleted with plain SQL raise no event either;
+ * searches hand the ids they could not load to {@link #prune}. Metric: oa.search.orders.indexed.
+ */
+@Slf4j
+@Component
+public class OrderSearchIndex {
+
+    private static final String ORDERS_SQL = "SELECT id, customer_name FROM orders "
+            + "UNION ALL SELECT id, customer_name FROM orders_archive";
+    private static final String EXISTING_SQL = "SELECT id FROM orders WHERE id IN (:ids) "
+            + "UNION ALL SELECT id FROM orders_archive WHERE id IN (:ids)";
+    private static final String ITEMS_SQL = "SELECT order_id, product_name FROM cart_items "
+            + "WHERE order_id IS NOT NULL ORDER BY order_id";
+
+    private record Indexes(TrigramIndex customerNames, TrigramIndex productNames) {
+
+        Indexes() {
+            this(new TrigramIndex(), new TrigramIndex());
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Indexes current = new Indexes();
+
+    // Index being rebuilt; receives the changes made meanwhile as well
+    private volatile Indexes building;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("oa.search.orders.indexed", this, OrderSearchIndex::size)
+                .description("Orders in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return ids of the orders whose customer name or product names contain the query
+     *         (case-insensitive), newest first
+     */
+    public List<Long> search(String query, int limit) {
+        Indexes indexes = current;
+        TreeSet<Long> ids = new TreeSet<>((a, b) -> Long.compare(b, a));
+        ids.addAll(indexes.customerNames().search(query, limit));
+        ids.addAll(indexes.productNames().search(query, limit));
+        return new ArrayList<>(ids).subList(0, Math.min(limit, ids.size()));
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        apply(indexes -> indexes.customerNames().put(event.getOrderId(), event.getCustomerName()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCheckout(CartCheckedOutEvent event) {
+        Set<String> names = new LinkedHashSet<>();
+        for (CartItem item : event.items()) {
+            if (item.getProductName() != null) {
+                names.add(item.getProductName());
+            }
+        }
+        String text = String.join("\n", names);
+        apply(indexes -> indexes.productNames().put(event.orderId(), text));
+    }
+
+    /**
+     * Drops the ids that are neither in orders nor in orders_archive.
+     *
+     * Runs in its own read-write transaction so the check reads the primary: a replica that
+     * has not caught up with a new order must not make it unsearchable.
+     *
+     * @return number of orders dropped
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int prune(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Set<Long> gone = new HashSet<>(ids);
+        gone.removeAll(namedParameterJdbcTemplate.queryForList(EXISTING_SQL,
+                new MapSqlParameterSource("ids", ids), Long.class));
+        for (Long id : gone) {
+            apply(indexes -> {
+                indexes.customerNames().remove(id);
+                indexes.productNames().remove(id);
+            });
+        }
+        if (!gone.isEmpty()) {
+            log.debug("Dropped {} deleted orders from the search index", gone.size());
+        }
+        return gone.size();
+    }
+
+    /**
+     * @return number of orders in the index
+     */
+    public int size() {
+        return current.customerNames().size();
+    }
+
+    /**
+     * Rebuilds the index from the tables and swaps it in.
+     *
+     * @return number of orders indexed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized int rebuild() {
+        long started = System.currentTimeMillis();
+        Indexes fresh = new Indexes();
+        building = fresh;
+        try {
+            jdbcTemplate.query(ORDERS_SQL, rs -> {
+                fresh.customerNames().put(rs.getLong("id"), rs.getString("customer_name"));
+            });
+            List<String> names = new ArrayList<>();
+            long[] orderId = {-1};
+            jdbcTemplate.query(ITEMS_SQL, rs -> {
+                long id = rs.getLong("order_id");
+                if (id != orderId[0] && !names.isEmpty()) {
+                    fresh.productNames().put(orderId[0], String.join("\n", new LinkedHashSet<>(names)));
+                    names.clear();
+                }
+                orderId[0] = id;
+                if (rs.getString("product_name") != null) {
+                    names.add(rs.getString("product_name"));
+                }
+            });
+            if (!names.isEmpty()) {
+                fresh.productNames().put(orderId[0], String.join("\n", new LinkedHashSet<>(names)));
+            }
+            current = fresh;
+        } finally {
+            building = null;
+        }
+        log.info("Indexed {} orders for search in {} ms", fresh.customerNames().size(),
+                System.currentTimeMillis() - started);
+        return fresh.customerNames().size();
+    }
+
+    private void apply(Consumer<Indexes> change) {
+        change.accept(current);
+        Indexes rebuilding = building;
+        if (rebuilding != null) {
+            change.accept(rebuilding);
+        }
+    }
+}
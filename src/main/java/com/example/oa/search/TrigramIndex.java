@@ -0,0 +1,153 @@
+package com.example.oa.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from the 3-character substrings (trigrams) of a text to the ids of
+ * the documents containing them, for case-insensitive substring search.
+ *
+ * A query looks up the posting list of its rarest trigram and checks each candidate's text
+ * for the whole query, so only documents sharing that trigram are looked at. Queries need at
+ * least {@link #MIN_QUERY_LENGTH} characters. Posting lists are primitive long arrays.
+ * Thread-safe; searches run in parallel, writes are exclusive.
+ */
+final class TrigramIndex {
+
+    static final int MIN_QUERY_LENGTH = 3;
+
+    private static final class Postings {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexes the document's text, replacing its previous text.
+     */
+    void put(long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            String previous = texts.put(id, normalized);
+            if (normalized.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            for (String trigram : trigrams(normalized)) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the document; unknown ids are ignored.
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = texts.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of the documents whose text contains the query, largest (newest) first
+     */
+    List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            Postings rarest = null;
+            for (String trigram : trigrams(normalized)) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return List.of();
+                }
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+            if (rarest == null) {
+                return List.of();
+            }
+            List<Long> matches = new ArrayList<>();
+            for (int i = 0; i < rarest.size; i++) {
+                if (texts.get(rarest.ids[i]).contains(normalized)) {
+                    matches.add(rarest.ids[i]);
+                }
+            }
+            matches.sort((a, b) -> Long.compare(b, a));
+            return matches.subList(0, Math.min(limit, matches.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void unlink(long id, String text) {
+        for (String trigram : trigrams(text)) {
+            Postings list = postings.get(trigram);
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + MIN_QUERY_LENGTH));
+        }
+        return trigrams;
+    }
+}
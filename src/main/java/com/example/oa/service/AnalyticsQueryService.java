@@ -0,0 +1,100 @@
+package com.example.oa.service;
+
+import com.example.oa.analytics.OrderAnalytics;
+import com.example.oa.dto.CustomerSpendResponse;
+import com.example.oa.dto.DailyRevenueResponse;
+import com.example.oa.dto.RevenueReportResponse;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Dashboard reports over the in-memory analytics snapshot of the orders, and finance reports
+ * over the incrementally maintained rollup tables.
+ *
+ * This service is provided as part of the skeleton infrastructure.
+ */
+@Service
+public class AnalyticsQueryService {
+
+    /** Longest range of one revenue report: ten years. */
+    public static final int MAX_REPORT_DAYS = 3660;
+
+    /** Range reported when no from date is given. */
+    public static final int DEFAULT_REPORT_DAYS = 30;
+
+    /** Upper bound for customers in one top spenders list. */
+    public static final int MAX_TOP_CUSTOMERS = 1000;
+
+    @Autowired
+    private OrderAnalytics orderAnalytics;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /**
+     * Order count and revenue per day and status (no database query; as of the last snapshot).
+     * Without dates the last 30 days up to today (UTC) are reported.
+     */
+    public RevenueReportResponse getDailyRevenue(LocalDate from, LocalDate to, OrderStatus status, Long customerId) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_REPORT_DAYS - 1);
+        validateRange(start, end);
+        OrderAnalytics.Report report = orderAnalytics.revenueByDay(start, end, status, customerId);
+        return new RevenueReportResponse(report.snapshotAt(), report.snapshotOrders(),
+                report.days().stream()
+                        .map(day -> new DailyRevenueResponse(day.date(), day.status(), day.orders(),
+                                BigDecimal.valueOf(day.revenueMinor(), 2)))
+                        .toList());
+    }
+
+    /**
+     * Order count and revenue per day and status from the daily rollup, which every order write
+     * keeps up to date (one index range scan). Same defaults and limits as getDailyRevenue.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyRevenueResponse> getDailyRollups(LocalDate from, LocalDate to, OrderStatus status) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_REPORT_DAYS - 1);
+        validateRange(start, end);
+        return orderRepository.findDailyRollups(start, end, status);
+    }
+
+    /**
+     * Lifetime order count and spend of one customer (cancelled orders excluded); zero for a
+     * customer without orders.
+     */
+    @Transactional(readOnly = true)
+    public CustomerSpendResponse getCustomerSpend(Long customerId) {
+        return orderRepository.findCustomerSpend(customerId)
+                .orElseGet(() -> new CustomerSpendResponse(customerId, 0L, BigDecimal.ZERO.setScale(2)));
+    }
+
+    /**
+     * Customers with the highest lifetime spend, highest first.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerSpendResponse> getTopCustomers(int limit) {
+        if (limit < 1 || limit > MAX_TOP_CUSTOMERS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_TOP_CUSTOMERS);
+        }
+        return orderRepository.findTopCustomers(limit);
+    }
+
+    private static void validateRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (end.toEpochDay() - start.toEpochDay() >= MAX_REPORT_DAYS) {
+            throw new BadRequestException("Reports cover at most " + MAX_REPORT_DAYS + " days");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.oa.service;
+
+import com.example.oa.cart.CartStore;
+import com.example.oa.mapper.CartItemMapper;
+import com.example.oa.projection.FieldSelection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-side cart item queries that complement CartItemService.
+ *
+ * This service is provided as part of the skeleton infrastructure.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CartItemQueryService {
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartItemMapper cartItemMapper;
+
+    /**
+     * Returns the open cart lines with only the requested fields.
+     *
+     * Lines come from the CartStore like GET /api/cart/items, so both agree whichever store is
+     * configured; the subtotal is the mapped response's quantity * price.
+     */
+    public List<Map<String, Object>> getCartItemFields(String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.CART_ITEM_FIELDS);
+        return cartStore.findAll().stream()
+                .map(cartItemMapper::toResponse)
+                .map(selection::toMap)
+                .toList();
+    }
+}
@@ -1,7 +1,14 @@
 package com.example.oa.service;
 
+import com.example.oa.cart.CartStore;
+import com.example.oa.cart.CartTotals;
 import com.example.oa.dto.CartItemRequest;
 import com.example.oa.dto.CartItemResponse;
+import com.example.oa.dto.CartLinePriceResponse;
+import com.example.oa.dto.CartPricingResponse;
+import com.example.oa.dto.CartSummaryResponse;
+import com.example.oa.promotion.CartPricing;
+import com.example.oa.promotion.PromotionEngine;
 import com.example.oa.repository.CartItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,6 +21,11 @@ import java.util.List;
  * Candidates should implement the business logic in this service.
  * 
  * TODO: Implement all CRUD operations (Tasks 1-4)
+ *
+ * Open cart lines can be read and written through CartStore, which also works when they are
+ * kept in memory ({@code oa.cart.store=memory}) instead of in the cart_items table.
+ * With {@code oa.cart.write-behind.enabled=true} updates through CartStore are coalesced and
+ * written in batches, so Task 3 should update lines via CartStore rather than the repository.
  */
 @Service
 public class CartItemService {
@@ -21,6 +33,15 @@ public class CartItemService {
     @Autowired
     private CartItemRepository cartItemRepository;
 
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private PromotionEngine promotionEngine;
+
     // TODO: Task 1 - Implement method to retrieve all cart items
     public List<CartItemResponse> getAllCartItems() {
         throw new UnsupportedOperationException("Task 1: Implement getAllCartItems");
@@ -40,4 +61,27 @@ public class CartItemService {
     public void deleteCartItem(Long id) {
         throw new UnsupportedOperationException("Task 4: Implement deleteCartItem");
     }
+
+    /**
+     * Item count, total quantity and total amount of the open cart, from the running totals
+     * that CartStore maintains (no scan of the lines).
+     */
+    public CartSummaryResponse getCartSummary() {
+        CartTotals.Totals totals = cartTotals.current();
+        return new CartSummaryResponse(totals.itemCount(), totals.totalQuantity(),
+                totals.totalAmount().doubleValue());
+    }
+
+    /**
+     * The open cart priced with the active promotions (cached until the cart or the rules change).
+     */
+    public CartPricingResponse getCartPricing() {
+        CartPricing pricing = promotionEngine.priceCart();
+        List<CartLinePriceResponse> lines = pricing.lines().stream()
+                .map(line -> new CartLinePriceResponse(line.cartItemId(), line.productId(),
+                        line.subtotal().doubleValue(), line.discount().doubleValue(), line.promotion()))
+                .toList();
+        return new CartPricingResponse(pricing.subtotal().doubleValue(), pricing.discount().doubleValue(),
+                pricing.total().doubleValue(), lines, pricing.promotions());
+    }
 }
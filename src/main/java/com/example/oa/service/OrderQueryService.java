@@ -0,0 +1,232 @@
+package com.example.oa.service;
+
+import com.example.oa.dto.OrderBatchResponse;
+import com.example.oa.dto.OrderChangeFeedResponse;
+import com.example.oa.dto.OrderChangeResponse;
+import com.example.oa.dto.OrderKeysetPageResponse;
+import com.example.oa.dto.OrderResponse;
+import com.example.oa.dto.OrderStatusTransitionResponse;
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.exception.ResourceNotFoundException;
+import com.example.oa.mapper.OrderMapper;
+import com.example.oa.projection.FieldSelection;
+import com.example.oa.repository.OrderRepository;
+import com.example.oa.search.OrderSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-side order queries that complement OrderService.
+ *
+ * This service is provided as part of the skeleton infrastructure.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    /** Upper bound for ids in one multi-get request. */
+    public static final int MAX_BATCH_IDS = 100;
+
+    /** Upper bound for entries in one change feed page. */
+    public static final int MAX_CHANGES_PAGE = 1000;
+
+    /** Upper bound for orders in one keyset page. */
+    public static final int MAX_KEYSET_PAGE = 1000;
+
+    /** Longest window for recent transition queries: one week. */
+    public static final int MAX_TRANSITION_MINUTES = 7 * 24 * 60;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderSearchIndex orderSearchIndex;
+
+    /**
+     * Pages live and archived orders returning only the requested fields, with the same optional
+     * filters as Tasks 7-9.
+     */
+    public Page<Map<String, Object>> getOrderFields(String fields, OrderStatus status,
+                                                    LocalDateTime startDate, LocalDateTime endDate,
+                                                    Pageable pageable) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.ORDER_FIELDS);
+        return orderRepository.findFieldsAcrossTiers(selection, status, startDate, endDate, pageable);
+    }
+
+    /**
+     * Finds orders whose customer name or product names contain q (case-insensitive, at least
+     * three characters) through the search index, newest first, and loads them by multi-get.
+     * Ids the multi-get cannot find are left out and pruned from the index.
+     */
+    public OrderBatchResponse searchOrders(String q, int size) {
+        if (q == null || q.trim().length() < 3) {
+            throw new BadRequestException("q must contain at least 3 characters");
+        }
+        if (size < 1 || size > MAX_BATCH_IDS) {
+            throw new BadRequestException("size must be between 1 and " + MAX_BATCH_IDS);
+        }
+        List<Long> ids = orderSearchIndex.search(q, size);
+        if (ids.isEmpty()) {
+            return new OrderBatchResponse(List.of(), List.of());
+        }
+        OrderBatchResponse found = getOrdersByIds(ids);
+        if (found.getMissingIds().isEmpty()) {
+            return found;
+        }
+        // Indexed orders that no longer exist (deleted with plain SQL) are dropped
+        orderSearchIndex.prune(found.getMissingIds());
+        return new OrderBatchResponse(found.getOrders(), List.of());
+    }
+
+    /**
+     * Resolves a list of order ids with a single IN query per table.
+     *
+     * Duplicate ids are collapsed; the result keeps the order of first appearance and lists
+     * ids without an order in missingIds. Ids not in the live table are looked up in the
+     * archive. The IN list is padded to the next power of two
+     * (hibernate.query.in_clause_parameter_padding) so batches of similar size share one
+     * cached statement plan.
+     */
+    public OrderBatchResponse getOrdersByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.isEmpty()) {
+            throw new BadRequestException("ids must contain at least one order id");
+        }
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " ids can be requested at once");
+        }
+
+        Map<Long, Order> found = new HashMap<>();
+        for (Order order : orderRepository.findAllById(uniqueIds)) {
+            found.put(order.getId(), order);
+        }
+        if (found.size() < uniqueIds.size()) {
+            List<Long> notLive = uniqueIds.stream().filter(id -> !found.containsKey(id)).toList();
+            for (Order order : orderRepository.findArchivedByIds(notLive)) {
+                found.put(order.getId(), order);
+            }
+        }
+
+        List<OrderResponse> orders = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Order order = found.get(id);
+            if (order != null) {
+                orders.add(orderMapper.toResponse(order));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new OrderBatchResponse(orders, missingIds);
+    }
+
+    /**
+     * Returns the next live or archived orders after the given id in id order.
+     *
+     * Order ids are Snowflake ids (see SnowflakeIdGenerator), so this is creation order and the
+     * page is a range scan of the primary key of both tables, however deep the client has paged.
+     */
+    public OrderKeysetPageResponse getOrdersAfter(long after, int size) {
+        if (size < 1 || size > MAX_KEYSET_PAGE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_KEYSET_PAGE);
+        }
+        List<Order> page = orderRepository.findAfterAcrossTiers(after, size + 1);
+        boolean hasMore = page.size() > size;
+        if (hasMore) {
+            page = page.subList(0, size);
+        }
+        List<OrderResponse> orders = page.stream().map(orderMapper::toResponse).toList();
+        long nextAfter = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        return new OrderKeysetPageResponse(orders, nextAfter, hasMore);
+    }
+
+    /**
+     * Returns orders created or modified after the given change feed token.
+     *
+     * The token is the change sequence of the last entry already consumed ("0" or absent for
+     * the start of the feed). Each order appears once, at its latest change. Orders loaded
+     * with plain SQL rather than JPA are not in the feed, so a new replica should copy the
+     * table first and then follow the feed from the token it read beforehand.
+     */
+    public OrderChangeFeedResponse getChanges(String since, int size) {
+        if (size < 1 || size > MAX_CHANGES_PAGE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CHANGES_PAGE);
+        }
+        long sinceSeq = parseChangeToken(since);
+
+        List<OrderChangeResponse> changes = orderRepository.findChangesSince(sinceSeq, size + 1);
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+        long nextSeq = changes.isEmpty() ? sinceSeq : changes.get(changes.size() - 1).getChangeSeq();
+        return new OrderChangeFeedResponse(changes, Long.toString(nextSeq), hasMore);
+    }
+
+    /**
+     * Returns the order's status transitions, oldest first (the first entry records its creation).
+     *
+     * @throws ResourceNotFoundException if the order does not exist and has no history
+     */
+    public List<OrderStatusTransitionResponse> getStatusHistory(Long id) {
+        List<OrderStatusTransitionResponse> history = orderRepository.findStatusHistory(id);
+        if (history.isEmpty() && !orderRepository.existsById(id) && orderRepository.findArchivedById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Order", id);
+        }
+        return history;
+    }
+
+    /**
+     * Returns status transitions of all orders in the last minutes, newest first.
+     */
+    public List<OrderStatusTransitionResponse> getRecentTransitions(int minutes, OrderStatus status, int size) {
+        if (minutes < 1 || minutes > MAX_TRANSITION_MINUTES) {
+            throw new BadRequestException("minutes must be between 1 and " + MAX_TRANSITION_MINUTES);
+        }
+        if (size < 1 || size > MAX_CHANGES_PAGE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_CHANGES_PAGE);
+        }
+        return orderRepository.findTransitionsSince(LocalDateTime.now().minusMinutes(minutes), status, size);
+    }
+
+    public Map<String, Object> getOrderFieldsById(Long id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, FieldSelection.ORDER_FIELDS);
+        return orderRepository.findFieldsById(id, selection)
+                .or(() -> orderRepository.findArchivedFieldsById(id, selection))
+                .orElseThrow(() -> new ResourceNotFoundException("Order", id));
+    }
+
+    private static long parseChangeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long seq = Long.parseLong(token.trim());
+            if (seq >= 0) {
+                return seq;
+            }
+        } catch (NumberFormatException ex) {
+            // fall through
+        }
+        throw new BadRequestException("Invalid change feed token '" + token.trim() + "'");
+    }
+}
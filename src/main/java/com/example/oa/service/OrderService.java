@@ -31,6 +31,7 @@ public class OrderService {
     }
 
     // TODO: Task 6 - Implement method to get an order by ID
+    // Optional: delegate to OrderLookupCoalescer.getOrder(id) so concurrent polls share one load
     public OrderResponse getOrderById(Long id) {
         throw new UnsupportedOperationException("Task 6: Implement getOrderById");
     }
@@ -61,11 +62,16 @@ public class OrderService {
     // Invalid: DELIVERED cannot transition to any other state
 
     // TODO: Task 12 - Implement method to cancel an order
+    // Hint: StockReservations.release(id) returns the units of a checked-out order to stock
     public OrderResponse cancelOrder(Long id) {
         throw new UnsupportedOperationException("Task 12: Implement cancelOrder");
     }
 
     // TODO: Task 13 (BONUS) - Implement checkout: create order from cart items
+    // Hint: CartStore.checkout(orderId) links the open lines to the new order in this transaction
+    // Hint: CartTotals.current() has the cart total without summing the lines;
+    //       PromotionEngine.price(lines).total() is the total after promotions
+    // Hint: StockReservations.reserve(lines) before linking them prevents overselling (422 when out of stock)
     public OrderResponse checkout(Long customerId, String customerName) {
         throw new UnsupportedOperationException("Task 13: Implement checkout");
     }
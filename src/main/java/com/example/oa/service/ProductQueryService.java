@@ -0,0 +1,40 @@
+package com.example.oa.service;
+
+import com.example.oa.dto.TopProductResponse;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.sales.TopSellers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Read-only product queries.
+ *
+ * This service is provided as part of the skeleton infrastructure.
+ */
+@Service
+public class ProductQueryService {
+
+    @Autowired
+    private TopSellers topSellers;
+
+    /**
+     * Best-selling products of the last hour or day, from the in-memory sales summaries
+     * (approximate, no table scan).
+     */
+    public List<TopProductResponse> getTopProducts(String window, int limit) {
+        if (limit < 1 || limit > topSellers.getCapacity()) {
+            throw new BadRequestException("limit must be between 1 and " + topSellers.getCapacity());
+        }
+        List<TopSellers.TopSeller> top = switch (window.toLowerCase()) {
+            case "hour" -> topSellers.lastHour(limit);
+            case "day" -> topSellers.lastDay(limit);
+            default -> throw new BadRequestException("window must be 'hour' or 'day'");
+        };
+        return top.stream()
+                .map(seller -> new TopProductResponse(seller.productId(), seller.productName(),
+                        seller.quantity(), seller.maxError()))
+                .toList();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.oa.shard;
+
+import com.example.oa.event.OrderChangedEvent;
+import com.example.oa.event.OrdersRewrittenEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the order shards a copy of the primary's orders table.
+ *
+ * Orders are written through JPA on the primary as before, so the change listener, outbox,
+ * status history and rollups see every write. After commit, the changed orders are re-read
+ * from the primary and copied to their customer's shard (OrderChangedEvent), or dropped from
+ * the shards when they left the table (OrdersRewrittenEvent, e.g. archiving). The copy runs in
+ * the committing thread, so a request reads its own writes from the shards once it returns.
+ *
+ * {@link #rebuild()} copies the whole table; it runs on startup, after bulk loads such as the
+ * synthetic dataset, and has to be called again after other plain SQL writes to orders.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oa.orders.sharding", name = "enabled", havingValue = "true")
+public class OrderShardSync {
+
+    private static final String COLUMNS = "id, customer_id, customer_name, order_date, status, total_amount";
+
+    private static final String PRIMARY_SQL = "SELECT " + COLUMNS + " FROM orders WHERE id IN (:ids)";
+    private static final String ALL_SQL = "SELECT " + COLUMNS + " FROM orders";
+    private static final String UPDATE_SQL = "UPDATE orders SET customer_id = :customerId, "
+            + "customer_name = :customerName, order_date = :orderDate, status = :status, "
+            + "total_amount = :totalAmount WHERE id = :id";
+    private static final String INSERT_SQL = "INSERT INTO orders (" + COLUMNS + ") "
+            + "VALUES (:id, :customerId, :customerName, :orderDate, :status, :totalAmount)";
+    private static final String DELETE_SQL = "DELETE FROM orders WHERE id IN (:ids)";
+
+    private static final int REBUILD_BATCH = 1000;
+    private static final int LOCK_STRIPES = 64;
+
+    // Column values of one orders row, as bound by the statements above
+    private static final RowMapper<MapSqlParameterSource> ROW_MAPPER = (rs, rowNum) -> new MapSqlParameterSource()
+            .addValue("id", rs.getLong("id"))
+            .addValue("customerId", rs.getLong("customer_id"))
+            .addValue("customerName", rs.getString("customer_name"))
+            .addValue("orderDate", rs.getTimestamp("order_date"))
+            .addValue("status", rs.getString("status"))
+            .addValue("totalAmount", rs.getDouble("total_amount"));
+
+    @Autowired
+    private OrderShards shards;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Copies share the read lock; a rebuild takes the write lock. Copies of the same order are
+    // serialized by its stripe, so an older read of an order never overwrites a newer one.
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    public OrderShardSync() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        copy(List.of(event.getOrderId()));
+    }
+
+    @EventListener
+    public void onOrdersRewritten(OrdersRewrittenEvent event) {
+        copy(event.getOrderIds());
+    }
+
+    /**
+     * Copies the current primary state of the given orders to the shards: rows are upserted on
+     * their customer's shard and removed from every other shard.
+     */
+    public void copy(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new TreeSet<>(orderIds));
+        // Stripes are taken in ascending order, so concurrent copies cannot deadlock
+        TreeSet<Integer> locked = new TreeSet<>();
+        ids.forEach(id -> locked.add(Math.floorMod(id, LOCK_STRIPES)));
+        rebuildLock.readLock().lock();
+        locked.forEach(stripe -> stripes[stripe].lock());
+        try {
+            Map<Long, Integer> placed = new HashMap<>();
+            for (MapSqlParameterSource row : jdbcTemplate.query(PRIMARY_SQL,
+                    new MapSqlParameterSource("ids", ids), ROW_MAPPER)) {
+                int index = shardOf(row);
+                NamedParameterJdbcTemplate shard = shards.shard(index);
+                if (shard.update(UPDATE_SQL, row) == 0) {
+                    shard.update(INSERT_SQL, row);
+                }
+                placed.put((Long) row.getValue("id"), index);
+            }
+            // Orders that moved to another customer's shard or left the table
+            for (int i = 0; i < shards.getShardCount(); i++) {
+                int index = i;
+                List<Long> elsewhere = ids.stream()
+                        .filter(id -> placed.getOrDefault(id, -1) != index)
+                        .toList();
+                if (!elsewhere.isEmpty()) {
+                    shards.shard(i).update(DELETE_SQL, new MapSqlParameterSource("ids", elsewhere));
+                }
+            }
+        } finally {
+            locked.descendingSet().forEach(stripe -> stripes[stripe].unlock());
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the content of every shard with the primary's orders table.
+     *
+     * @return number of orders copied
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            long started = System.currentTimeMillis();
+            shards.scatter(shard -> shard.getJdbcOperations().update("DELETE FROM orders"));
+            List<List<MapSqlParameterSource>> pending = new ArrayList<>();
+            for (int i = 0; i < shards.getShardCount(); i++) {
+                pending.add(new ArrayList<>());
+            }
+            int[] copied = {0};
+            jdbcTemplate.getJdbcOperations().query(ALL_SQL, rs -> {
+                MapSqlParameterSource row = ROW_MAPPER.mapRow(rs, copied[0]++);
+                List<MapSqlParameterSource> batch = pending.get(shardOf(row));
+                batch.add(row);
+                if (batch.size() == REBUILD_BATCH) {
+                    flush(shardOf(row), batch);
+                }
+            });
+            for (int i = 0; i < pending.size(); i++) {
+                flush(i, pending.get(i));
+            }
+            log.info("Copied {} orders to {} shards in {} ms", copied[0], shards.getShardCount(),
+                    System.currentTimeMillis() - started);
+            return copied[0];
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void flush(int shard, List<MapSqlParameterSource> batch) {
+        if (!batch.isEmpty()) {
+            shards.shard(shard).batchUpdate(INSERT_SQL, batch.toArray(MapSqlParameterSource[]::new));
+            batch.clear();
+        }
+    }
+
+    private int shardOf(MapSqlParameterSource row) {
+        return shards.shardForCustomer((Long) row.getValue("customerId"));
+    }
+}
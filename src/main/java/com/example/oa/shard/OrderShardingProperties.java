@@ -0,0 +1,47 @@
+package com.example.oa.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the sharded order store.
+ *
+ * Bound from the {@code oa.orders.sharding.*} properties. Disabled by default; when enabled
+ * without explicit urls, {@code shard-count} in-memory H2 databases are used as shards.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "oa.orders.sharding")
+public class OrderShardingProperties {
+
+    private boolean enabled = false;
+
+    /** JDBC URLs of the shards, in shard order. Changing the list requires moving the data. */
+    private List<String> urls = new ArrayList<>();
+
+    /** Number of local in-memory shards when no urls are configured. */
+    private int shardCount = 4;
+
+    private String username = "sa";
+    private String password = "";
+
+    private int maximumPoolSize = 5;
+
+    /** Largest offset + page size served by a cross-shard page; deeper pages need filters. */
+    private int maxScatterWindow = 10_000;
+
+    public List<String> resolveUrls() {
+        if (!urls.isEmpty()) {
+            return urls;
+        }
+        List<String> local = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            local.add("jdbc:h2:mem:orders_shard_" + i + ";DB_CLOSE_DELAY=-1");
+        }
+        return local;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.oa.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * The order shards: one connection pool per database and the routing by customer.
+ *
+ * Orders are placed by customerId ({@code customerId mod shardCount}), so all orders of a
+ * customer live on one shard. Order ids are the Snowflake ids assigned when the order is saved
+ * through JPA, so they are unique across shards without any per-shard sequence. Each shard
+ * gets its schema from shard-schema.sql; OrderShardSync fills it.
+ *
+ * Enabled with {@code oa.orders.sharding.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oa.orders.sharding", name = "enabled", havingValue = "true")
+public class OrderShards {
+
+    @Autowired
+    private OrderShardingProperties properties;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<NamedParameterJdbcTemplate> shards = new ArrayList<>();
+    private ExecutorService scatter;
+
+    @PostConstruct
+    public void init() {
+        List<String> urls = properties.resolveUrls();
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("oa.orders.sharding needs at least one shard");
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql"));
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("orders-shard-" + i);
+            dataSource.setJdbcUrl(urls.get(i));
+            dataSource.setUsername(properties.getUsername());
+            dataSource.setPassword(properties.getPassword());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            schema.execute(dataSource);
+            dataSources.add(dataSource);
+            shards.add(new NamedParameterJdbcTemplate(dataSource));
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("orders-shard-query-");
+        threadFactory.setDaemon(true);
+        scatter = Executors.newFixedThreadPool(urls.size(), threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatter.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public int shardForCustomer(Long customerId) {
+        return Math.floorMod(customerId, shards.size());
+    }
+
+    public NamedParameterJdbcTemplate shard(int index) {
+        return shards.get(index);
+    }
+
+    /**
+     * Runs a query on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(Function<NamedParameterJdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (NamedParameterJdbcTemplate shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), scatter));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
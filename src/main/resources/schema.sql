@@ -0,0 +1,147 @@
+-- Tables maintained by the skeleton infrastructure next to the JPA entities.
+-- Runs after Hibernate has created the entity tables (spring.jpa.defer-datasource-initialization).
+
+-- Order change feed: latest change sequence per order (OrderChangeFeedWriter)
+CREATE TABLE IF NOT EXISTS order_change_sequence (
+    id INT PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
+INSERT INTO order_change_sequence (id, last_seq)
+SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM order_change_sequence WHERE id = 1);
+
+-- No foreign key to orders: entries of archived orders stay in the feed (OrderArchiver)
+CREATE TABLE IF NOT EXISTS order_changes (
+    order_id BIGINT PRIMARY KEY,
+    change_seq BIGINT NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+ALTER TABLE order_changes DROP CONSTRAINT IF EXISTS fk_order_changes_order;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_order_changes_seq ON order_changes (change_seq);
+
+-- Transactional outbox of order lifecycle events (OrderOutboxWriter / OutboxRelay)
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    last_error VARCHAR(1000),
+    next_attempt_at TIMESTAMP  -- NULL: due now; set by OutboxRelay after a failure (backoff)
+);
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+CREATE INDEX IF NOT EXISTS ix_order_outbox_aggregate ON order_outbox (aggregate_id, id);
+-- Outbox messages given up by OutboxRelay after oa.outbox.relay.max-attempts failed deliveries.
+-- Later messages of the same order stay in order_outbox until the dead letter is resolved:
+-- move it back into order_outbox (same id, then delete it here) to retry it, or delete it here
+-- to skip it.
+CREATE TABLE IF NOT EXISTS order_outbox_dead_letter (
+    id BIGINT PRIMARY KEY,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL,
+    last_error VARCHAR(1000),
+    dead_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS ix_order_outbox_dead_letter_aggregate ON order_outbox_dead_letter (aggregate_id, id);
+
+-- Append-only order status history (OrderStatusHistoryWriter). Statuses are stored as
+-- SMALLINT codes (OrderStatusCodes) and every row carries its hour since the epoch, so both
+-- indexes below cover their queries: per-order history and "transitions in the last N hours".
+CREATE TABLE IF NOT EXISTS order_status_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    from_status SMALLINT,
+    to_status SMALLINT NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    hour_bucket INT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS ix_status_history_order
+    ON order_status_history (order_id, changed_at, from_status, to_status);
+CREATE INDEX IF NOT EXISTS ix_status_history_bucket
+    ON order_status_history (hour_bucket, to_status, changed_at, order_id, from_status);
+
+-- Cold tier for terminal orders moved out of orders by OrderArchiver
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    order_date TIMESTAMP NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    total_amount DOUBLE PRECISION NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS ix_orders_archive_date ON orders_archive (order_date);
+CREATE INDEX IF NOT EXISTS ix_orders_archive_status_date ON orders_archive (status, order_date);
+
+-- Replication heartbeat: stamped on the primary, read back from the replica (ReplicaLagMonitor)
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at TIMESTAMP NOT NULL
+);
+INSERT INTO replication_heartbeat (id, beat_at)
+SELECT 1, CURRENT_TIMESTAMP WHERE NOT EXISTS (SELECT 1 FROM replication_heartbeat WHERE id = 1);
+
+-- Abandoned open cart lines are found by last update (AbandonedCartPurger)
+CREATE INDEX IF NOT EXISTS ix_cart_items_open_updated ON cart_items (order_id, updated_at);
+
+-- Promotion rules applied to cart totals (PromotionEngine); see PromotionType for the columns
+-- each rule type uses
+CREATE TABLE IF NOT EXISTS promotion_rules (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    rule_type VARCHAR(32) NOT NULL,
+    product_id BIGINT,
+    percent_off DOUBLE PRECISION,
+    buy_quantity INT,
+    free_quantity INT,
+    min_order_amount DOUBLE PRECISION,
+    amount_off DOUBLE PRECISION,
+    starts_at TIMESTAMP,
+    ends_at TIMESTAMP,
+    active BOOLEAN DEFAULT TRUE NOT NULL,
+    -- Same rules as CompiledPromotions.invalidReason, which also guards rows from older schemas
+    CONSTRAINT ck_promotion_rules_type
+        CHECK (rule_type IN ('PERCENT_OFF_PRODUCT', 'BUY_X_GET_Y', 'ORDER_THRESHOLD')),
+    CONSTRAINT ck_promotion_rules_percent
+        CHECK (percent_off IS NULL OR (percent_off > 0 AND percent_off <= 100)),
+    CONSTRAINT ck_promotion_rules_percent_off_product
+        CHECK (rule_type <> 'PERCENT_OFF_PRODUCT' OR (product_id IS NOT NULL AND percent_off IS NOT NULL)),
+    CONSTRAINT ck_promotion_rules_buy_x_get_y
+        CHECK (rule_type <> 'BUY_X_GET_Y' OR (product_id IS NOT NULL AND buy_quantity IS NOT NULL
+            AND free_quantity IS NOT NULL AND buy_quantity >= 1 AND free_quantity >= 1)),
+    CONSTRAINT ck_promotion_rules_threshold
+        CHECK (rule_type <> 'ORDER_THRESHOLD' OR (min_order_amount IS NOT NULL AND min_order_amount >= 0
+            AND (percent_off IS NOT NULL OR (amount_off IS NOT NULL AND amount_off > 0))))
+);
+
+-- Finance rollups maintained with every order write (OrderRollupWriter) and checked against
+-- orders and orders_archive by OrderRollupReconciler. Amounts are in cents. Customer spend
+-- leaves out cancelled orders. Rollup writes lock the single order_rollup_state row first,
+-- so a reconciliation that holds it sees and repairs a quiet state.
+CREATE TABLE IF NOT EXISTS order_daily_rollup (
+    order_day DATE NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue_cents BIGINT NOT NULL,
+    PRIMARY KEY (order_day, status)
+);
+CREATE TABLE IF NOT EXISTS customer_spend_rollup (
+    customer_id BIGINT PRIMARY KEY,
+    order_count BIGINT NOT NULL,
+    spend_cents BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS ix_customer_spend_rollup_spend ON customer_spend_rollup (spend_cents, customer_id);
+CREATE TABLE IF NOT EXISTS order_rollup_state (
+    id INT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    reconciled_at TIMESTAMP
+);
+INSERT INTO order_rollup_state (id, version)
+SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM order_rollup_state WHERE id = 1);
+-- Lets the reconciler recheck single days and customers while holding order_rollup_state
+CREATE INDEX IF NOT EXISTS ix_orders_date ON orders (order_date);
+CREATE INDEX IF NOT EXISTS ix_orders_customer ON orders (customer_id);
+CREATE INDEX IF NOT EXISTS ix_orders_archive_customer ON orders_archive (customer_id);
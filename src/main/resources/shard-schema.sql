@@ -0,0 +1,13 @@
+-- Schema of each order shard (OrderShards). Rows are copies of the primary's orders table,
+-- written by OrderShardSync; ids are the primary's Snowflake ids.
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    order_date TIMESTAMP NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    total_amount DOUBLE PRECISION NOT NULL
+);
+CREATE INDEX IF NOT EXISTS ix_orders_customer_date ON orders (customer_id, order_date);
+CREATE INDEX IF NOT EXISTS ix_orders_status_date ON orders (status, order_date);
+CREATE INDEX IF NOT EXISTS ix_orders_date ON orders (order_date);
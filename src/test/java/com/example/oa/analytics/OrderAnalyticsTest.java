@@ -0,0 +1,124 @@
+package com.example.oa.analytics;
+
+import com.example.oa.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the columnar analytics snapshot and GET /api/analytics/revenue/daily.
+ *
+ * This test validates that:
+ * - Daily revenue per status matches the orders (live and archived) as of the last refresh
+ * - Status and customer filters and the date range are applied
+ * - Fork-join aggregation over many rows equals a GROUP BY on the tables
+ * - Invalid ranges are rejected
+ */
+@SpringBootTest(properties = "oa.analytics.refresh-interval-ms=3600000")
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderAnalyticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderAnalytics orderAnalytics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testDailyRevenueFromSnapshot() throws Exception {
+        jdbcTemplate.update("INSERT INTO orders_archive (id, customer_id, customer_name, order_date, status, "
+                + "total_amount, archived_at) VALUES (6, 3, 'Alice Johnson', '2026-01-28T08:00:00', 'DELIVERED', "
+                + "20.02, CURRENT_TIMESTAMP)");
+        assertEquals(6, orderAnalytics.refresh());
+
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", "2026-01-01").param("to", "2026-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshotOrders", is(6)))
+                .andExpect(jsonPath("$.snapshotAt", notNullValue()))
+                .andExpect(jsonPath("$.days", hasSize(5)))
+                .andExpect(jsonPath("$.days[0].date", is("2026-01-15")))
+                .andExpect(jsonPath("$.days[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.days[0].orderCount", is(1)))
+                .andExpect(jsonPath("$.days[0].revenue", is(2029.97)))
+                .andExpect(jsonPath("$.days[3].date", is("2026-01-28")))
+                .andExpect(jsonPath("$.days[3].orderCount", is(2)))
+                .andExpect(jsonPath("$.days[3].revenue", is(400.0)));
+
+        mockMvc.perform(get("/api/analytics/revenue/daily")
+                        .param("from", "2026-01-20").param("to", "2026-01-28").param("customerId", "1"))
+                .andExpect(jsonPath("$.days", hasSize(1)))
+                .andExpect(jsonPath("$.days[0].date", is("2026-01-25")))
+                .andExpect(jsonPath("$.days[0].status", is("SHIPPED")));
+
+        // New orders show up with the next refresh only
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, customer_name, order_date, status, total_amount) "
+                + "VALUES (7, 2, 'Jane Smith', '2026-01-30T18:00:00', 'CANCELLED', 50.01)");
+        mockMvc.perform(get("/api/analytics/revenue/daily")
+                        .param("from", "2026-01-30").param("to", "2026-01-30").param("status", "CANCELLED"))
+                .andExpect(jsonPath("$.days[0].orderCount", is(1)));
+        orderAnalytics.refresh();
+        mockMvc.perform(get("/api/analytics/revenue/daily")
+                        .param("from", "2026-01-30").param("to", "2026-01-30").param("status", "CANCELLED"))
+                .andExpect(jsonPath("$.days[0].orderCount", is(2)))
+                .andExpect(jsonPath("$.days[0].revenue", is(200.0)));
+    }
+
+    @Test
+    public void testParallelAggregationMatchesGroupBy() {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, customer_name, order_date, status, total_amount) "
+                + "SELECT 1000 + X, MOD(X, 7) + 1, 'Customer', "
+                + "DATEADD('MINUTE', X * 13, TIMESTAMP '2025-06-01 00:00:00'), "
+                + "CASEWHEN(MOD(X, 3) = 0, 'DELIVERED', CASEWHEN(MOD(X, 3) = 1, 'SHIPPED', 'CREATED')), "
+                + "MOD(X * 37, 10000) / 100.0 FROM SYSTEM_RANGE(1, 120000)");
+        assertEquals(120005, orderAnalytics.refresh());
+
+        LocalDate from = LocalDate.of(2025, 7, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        List<OrderAnalytics.DailyRevenue> expected = new ArrayList<>();
+        jdbcTemplate.query("SELECT CAST(order_date AS DATE) AS order_day, status, COUNT(*) AS orders, "
+                + "SUM(CAST(ROUND(total_amount * 100) AS BIGINT)) AS revenue FROM orders "
+                + "WHERE customer_id = 3 AND order_date >= ? AND order_date < ? GROUP BY order_day, status", rs -> {
+            expected.add(new OrderAnalytics.DailyRevenue(rs.getDate("order_day").toLocalDate(),
+                    OrderStatus.valueOf(rs.getString("status")), rs.getLong("orders"), rs.getLong("revenue")));
+        }, from, to.plusDays(1));
+        expected.sort((a, b) -> a.date().equals(b.date())
+                ? a.status().compareTo(b.status()) : a.date().compareTo(b.date()));
+
+        OrderAnalytics.Report report = orderAnalytics.revenueByDay(from, to, null, 3L);
+        assertTrue(expected.size() > 500);
+        assertEquals(expected, report.days());
+
+        long shipped = orderAnalytics.revenueByDay(from, to, OrderStatus.SHIPPED, null).days().stream()
+                .mapToLong(OrderAnalytics.DailyRevenue::orders).sum();
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE status = 'SHIPPED' "
+                + "AND order_date >= ? AND order_date < ?", Long.class, from, to.plusDays(1)), shipped);
+    }
+
+    @Test
+    public void testInvalidRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", "2026-02-01").param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", "2000-01-01").param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.oa.archive;
+
+import com.example.oa.cache.OrderLookupCoalescer;
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for order archiving and queries across the live and archive tables.
+ *
+ * This test validates that:
+ * - Only terminal orders older than the cutoff are moved, in chunks
+ * - findAcrossTiers returns live and archived orders as one sorted page
+ * - The archive is skipped when the date range or status filter cannot reach it
+ * - Lookups by id still find archived orders
+ * - Sparse fieldset and keyset reads include archived orders
+ * - Orders archived elsewhere resolve by id at once and reach date-range queries after the horizon TTL
+ * - Archived orders keep their place in the change feed
+ */
+@SpringBootTest(properties = {
+        "oa.archive.enabled=true",
+        "oa.archive.chunk-size=1",
+        "oa.archive.interval-ms=3600000",
+        "oa.archive.horizon-ttl=200ms"
+})
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderArchiverTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    @Autowired
+    private OrderArchiver archiver;
+
+    @Autowired
+    private OrderArchiveHorizon horizon;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLookupCoalescer orderLookupCoalescer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void resetHorizon() {
+        horizon.reset();
+    }
+
+    @Test
+    public void testArchivesTerminalOrdersAndQueriesBothTiers() {
+        assertEquals(2, archiver.archive(CUTOFF));
+        assertEquals(3, orderRepository.count());
+        assertEquals(LocalDateTime.of(2026, 1, 30, 11, 20), horizon.getLatestOrderDate());
+
+        Page<Order> all = orderRepository.findAcrossTiers(null, null, null,
+                PageRequest.of(0, 3, Sort.by("orderDate").descending()));
+        assertEquals(5, all.getTotalElements());
+        assertEquals(2, all.getTotalPages());
+        assertEquals(5L, all.getContent().get(0).getId());
+        assertEquals(4L, all.getContent().get(1).getId());
+        assertEquals(3L, all.getContent().get(2).getId());
+
+        Page<Order> delivered = orderRepository.findAcrossTiers(OrderStatus.DELIVERED, null, null,
+                PageRequest.of(0, 10));
+        assertEquals(1, delivered.getTotalElements());
+        assertEquals(4L, delivered.getContent().get(0).getId());
+
+        Page<Order> lateJanuary = orderRepository.findAcrossTiers(null,
+                LocalDateTime.of(2026, 1, 29, 0, 0), null, PageRequest.of(0, 10));
+        assertEquals(1, lateJanuary.getTotalElements());
+        assertEquals(5L, lateJanuary.getContent().get(0).getId());
+
+        assertFalse(horizon.reaches(LocalDateTime.of(2026, 1, 31, 0, 0)));
+    }
+
+    @Test
+    public void testNothingToArchiveBeforeCutoff() {
+        assertEquals(0, archiver.archive(LocalDateTime.of(2026, 1, 1, 0, 0)));
+        assertEquals(5, orderRepository.count());
+        assertNull(horizon.getLatestOrderDate());
+    }
+
+    @Test
+    public void testArchivedOrdersStillResolveById() throws Exception {
+        archiver.archive(CUTOFF);
+
+        mockMvc.perform(get("/api/orders").param("ids", "4,1,9999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].id", contains(4, 1)))
+                .andExpect(jsonPath("$.orders[0].status", is("DELIVERED")))
+                .andExpect(jsonPath("$.missingIds", contains(9999)));
+
+        assertEquals(OrderStatus.CANCELLED, orderLookupCoalescer.getOrder(5L).getStatus());
+    }
+
+    @Test
+    public void testSparseAndKeysetReadsIncludeArchivedOrders() throws Exception {
+        archiver.archive(CUTOFF);
+
+        mockMvc.perform(get("/api/orders").param("fields", "id,status,orderDate").param("sort", "orderDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(5)))
+                .andExpect(jsonPath("$.content[*].id", contains(5, 4, 3, 2, 1)))
+                .andExpect(jsonPath("$.content[0].status", is("CANCELLED")))
+                .andExpect(jsonPath("$.content[0].orderDate", is("2026-01-30T11:20:00")))
+                .andExpect(jsonPath("$.content[0].customerName").doesNotExist());
+        mockMvc.perform(get("/api/orders").param("fields", "id").param("status", "DELIVERED"))
+                .andExpect(jsonPath("$.content[*].id", contains(4)));
+
+        mockMvc.perform(get("/api/orders/4").param("fields", "status,totalAmount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("DELIVERED")))
+                .andExpect(jsonPath("$.totalAmount", is(379.98)))
+                .andExpect(jsonPath("$.id").doesNotExist());
+
+        mockMvc.perform(get("/api/orders").param("after", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].id", contains(3, 4)))
+                .andExpect(jsonPath("$.nextAfter", is(4)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+        mockMvc.perform(get("/api/orders").param("after", "4").param("size", "2"))
+                .andExpect(jsonPath("$.orders[*].id", contains(5)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    public void testArchivedOrdersStayInChangeFeed() throws Exception {
+        String token = JsonPath.read(mockMvc.perform(get("/api/orders/changes"))
+                .andReturn().getResponse().getContentAsString(), "$.nextToken");
+        Order delivered = orderRepository.save(new Order(null, 1L, LocalDateTime.of(2026, 1, 10, 9, 0),
+                OrderStatus.DELIVERED, 42.0, "John Doe"));
+        Order open = orderRepository.save(new Order(null, 2L, LocalDateTime.of(2026, 1, 11, 9, 0),
+                OrderStatus.CREATED, 17.5, "Jane Smith"));
+
+        assertEquals(3, archiver.archive(CUTOFF));
+
+        mockMvc.perform(get("/api/orders/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[*].order.id",
+                        contains(delivered.getId().toString(), open.getId().toString())))
+                .andExpect(jsonPath("$.changes[0].order.status", is("DELIVERED")))
+                .andExpect(jsonPath("$.changes[0].order.totalAmount", is(42.0)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    public void testOrdersArchivedElsewhereBecomeVisible() throws Exception {
+        assertNull(horizon.getLatestOrderDate());
+        // Another instance moves order 4
+        jdbcTemplate.update("INSERT INTO orders_archive (id, customer_id, customer_name, order_date, status, "
+                + "total_amount, archived_at) SELECT id, customer_id, customer_name, order_date, status, "
+                + "total_amount, CURRENT_TIMESTAMP FROM orders WHERE id = 4");
+        jdbcTemplate.update("DELETE FROM orders WHERE id = 4");
+
+        mockMvc.perform(get("/api/orders").param("ids", "4"))
+                .andExpect(jsonPath("$.orders[*].id", contains(4)))
+                .andExpect(jsonPath("$.missingIds", empty()));
+
+        Thread.sleep(250);
+        assertEquals(LocalDateTime.of(2026, 1, 28, 16, 45), horizon.getLatestOrderDate());
+        mockMvc.perform(get("/api/orders").param("fields", "id").param("status", "DELIVERED"))
+                .andExpect(jsonPath("$.content[*].id", contains(4)));
+    }
+}
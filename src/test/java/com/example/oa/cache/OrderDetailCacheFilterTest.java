@@ -0,0 +1,169 @@
+package com.example.oa.cache;
+
+import com.example.oa.dto.OrderResponse;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.event.OrderChangedEvent;
+import com.example.oa.event.OrdersRewrittenEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the order detail response cache.
+ *
+ * A stub controller stands in for GET /api/orders/{id} (Task 6) so the filter can be checked
+ * independently of the candidate implementation.
+ *
+ * This test validates that:
+ * - Repeated reads are served from cached bytes without reaching the controller
+ * - Committed order changes and orders rewritten with plain SQL invalidate the cached bytes
+ * - Entries expire, so writes that publish no event are served stale for a bounded time only
+ * - Non-JSON, parameterized and failed requests are never cached
+ * - 19-digit Snowflake ids are cached; ids beyond the long range bypass the cache
+ */
+@SpringBootTest(properties = {
+        "oa.orders.response-cache.enabled=true",
+        "oa.orders.response-cache.expire-after-write=1s"
+})
+public class OrderDetailCacheFilterTest {
+
+    @Autowired
+    private OrderDetailCacheFilter filter;
+
+    @Autowired
+    private OrderResponseByteCache responseCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private StubOrderController controller;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        responseCache.invalidateAll();
+        controller = new StubOrderController();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).addFilters(filter).build();
+    }
+
+    @Test
+    public void testRepeatedReadsAreServedFromCache() throws Exception {
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(jsonPath("$.status", is("CREATED")));
+
+        mockMvc.perform(get("/api/orders/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "HIT"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.status", is("CREATED")));
+
+        assertEquals(1, controller.calls.get());
+    }
+
+    @Test
+    public void testOrderChangeInvalidatesCachedBytes() throws Exception {
+        mockMvc.perform(get("/api/orders/1")).andExpect(status().isOk());
+
+        controller.status = OrderStatus.CONFIRMED;
+        eventPublisher.publishEvent(new OrderChangedEvent(OrderChangedEvent.Type.UPDATED, 1L, 1L, "John Doe",
+                LocalDateTime.of(2026, 1, 1, 10, 0), OrderStatus.CREATED, OrderStatus.CONFIRMED, 100.0));
+
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(jsonPath("$.status", is("CONFIRMED")));
+        assertEquals(2, controller.calls.get());
+    }
+
+    @Test
+    public void testRewrittenOrdersInvalidateCachedBytes() throws Exception {
+        mockMvc.perform(get("/api/orders/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/2")).andExpect(status().isOk());
+
+        controller.status = OrderStatus.DELIVERED;
+        eventPublisher.publishEvent(new OrdersRewrittenEvent(List.of(1L)));
+
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(jsonPath("$.status", is("DELIVERED")));
+        mockMvc.perform(get("/api/orders/2"))
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "HIT"));
+        assertEquals(3, controller.calls.get());
+    }
+
+    @Test
+    public void testEntriesExpireAfterWrite() throws Exception {
+        mockMvc.perform(get("/api/orders/1")).andExpect(status().isOk());
+        controller.status = OrderStatus.SHIPPED;
+
+        Thread.sleep(1200);
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(jsonPath("$.status", is("SHIPPED")));
+    }
+
+    @Test
+    public void testNineteenDigitIds() throws Exception {
+        mockMvc.perform(get("/api/orders/1234567890123456789"))
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "MISS"));
+        mockMvc.perform(get("/api/orders/1234567890123456789"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "HIT"));
+
+        mockMvc.perform(get("/api/orders/9999999999999999999"))
+                .andExpect(header().doesNotExist(OrderDetailCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    public void testUncacheableRequestsBypassCache() throws Exception {
+        mockMvc.perform(get("/api/orders/1?fields=id"))
+                .andExpect(header().doesNotExist(OrderDetailCacheFilter.CACHE_HEADER));
+        mockMvc.perform(get("/api/orders/1").accept("application/cbor", "application/json"))
+                .andExpect(header().doesNotExist(OrderDetailCacheFilter.CACHE_HEADER));
+
+        mockMvc.perform(get("/api/orders/404")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/orders/404"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(OrderDetailCacheFilter.CACHE_HEADER, "MISS"));
+
+        assertEquals(0, responseCache.estimatedSize());
+    }
+
+    // Nested in a test class, so TestTypeExcludeFilter keeps it out of component scanning
+    @RestController
+    static class StubOrderController {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile OrderStatus status = OrderStatus.CREATED;
+
+        @GetMapping("/api/orders/{id}")
+        public ResponseEntity<OrderResponse> getOrder(@PathVariable Long id) {
+            calls.incrementAndGet();
+            if (id == 404) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(new OrderResponse(id, 1L, "John Doe",
+                    LocalDateTime.of(2026, 1, 1, 10, 0), status, 100.0));
+        }
+    }
+}
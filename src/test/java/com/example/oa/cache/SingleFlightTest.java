@@ -0,0 +1,91 @@
+package com.example.oa.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks for SingleFlight request coalescing.
+ */
+@DisplayName("SingleFlight Coalescing Checks")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Concurrent callers for one key should share a single load")
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> flight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "order-1";
+                })));
+            }
+            // Let every caller reach the in-flight call before the load finishes
+            while (flight.getRequestCount() < callers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("order-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getLoadCount());
+        assertEquals(0, flight.size());
+    }
+
+    @Test
+    @DisplayName("Completed results are shared within the window until forgotten")
+    void testWindowAndForget() {
+        SingleFlight<Long, Integer> flight = new SingleFlight<>(Duration.ofMinutes(1));
+        AtomicInteger version = new AtomicInteger(1);
+
+        assertEquals(1, flight.execute(1L, version::get));
+        version.set(2);
+        assertEquals(1, flight.execute(1L, version::get));
+
+        flight.forget(1L);
+        assertEquals(2, flight.execute(1L, version::get));
+        assertEquals(2, flight.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Failures should propagate and never be cached")
+    void testFailuresAreNotCached() {
+        SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class,
+                () -> flight.execute(1L, () -> { throw new IllegalStateException("boom"); }));
+        assertEquals("ok", flight.execute(1L, () -> "ok"));
+        assertEquals(2, flight.getLoadCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the purge of abandoned cart lines.
+ *
+ * This test validates that:
+ * - New lines get created/updated timestamps and updates move updatedAt forward
+ * - Only open lines last updated before the cutoff are deleted, in chunks
+ * - Checked-out lines are never purged, and purged rows and run latency are recorded
+ */
+@SpringBootTest(properties = {
+        "oa.cart.expiry.enabled=true",
+        "oa.cart.expiry.chunk-size=2",
+        "oa.cart.expiry.interval-ms=3600000",
+        "oa.cart.summary.reconcile-interval-ms=3600000"
+})
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class AbandonedCartPurgerTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private AbandonedCartPurger purger;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testTimestampsAreMaintained() throws Exception {
+        CartItem saved = cartStore.save(new CartItem(null, null, 4L, 1, 299.99, "Monitor"));
+        CartItem created = cartStore.findById(saved.getId()).orElseThrow();
+        assertNotNull(created.getCreatedAt());
+        assertNotNull(created.getUpdatedAt());
+
+        Thread.sleep(5);
+        created.setQuantity(2);
+        cartStore.save(created);
+        CartItem updated = cartStore.findById(saved.getId()).orElseThrow();
+        assertEquals(created.getCreatedAt(), updated.getCreatedAt());
+        assertTrue(updated.getUpdatedAt().isAfter(created.getUpdatedAt()));
+
+        // Rows written with SQL default to the insert time
+        assertNotNull(cartStore.findById(1L).orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    public void testExpiredOpenLinesArePurgedInChunks() {
+        jdbcTemplate.update("UPDATE cart_items SET updated_at = ? WHERE id IN (1, 2)", LONG_AGO);
+        jdbcTemplate.update("INSERT INTO cart_items (id, order_id, product_id, product_name, quantity, price, updated_at) "
+                + "VALUES (4, 42, 1, 'Laptop', 1, 999.99, ?), (5, NULL, 4, 'Monitor', 1, 299.99, ?), "
+                + "(6, NULL, 5, 'Headphones', 1, 149.99, ?)", LONG_AGO, LONG_AGO, LONG_AGO);
+        cartTotals.recompute();
+        double purgedBefore = meterRegistry.counter("oa.cart.expiry.purged").count();
+        long runsBefore = meterRegistry.timer("oa.cart.expiry.purge").count();
+
+        assertEquals(4, purger.purge(LocalDateTime.now().minusDays(1)));
+
+        List<Long> remaining = jdbcTemplate.queryForList("SELECT id FROM cart_items ORDER BY id", Long.class);
+        assertEquals(List.of(3L, 4L), remaining);
+        assertEquals(1, cartTotals.current().itemCount());
+        assertEquals(4, meterRegistry.counter("oa.cart.expiry.purged").count() - purgedBefore);
+        assertEquals(1, meterRegistry.timer("oa.cart.expiry.purge").count() - runsBefore);
+
+        assertEquals(0, purger.purge(LocalDateTime.now().minusDays(1)));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the running cart totals behind GET /api/cart/summary.
+ *
+ * This test validates that:
+ * - The summary endpoint reports count, quantity and amount of the open cart items
+ * - The totals follow adds, updates and deletes exactly as a full recompute would
+ * - Checkout empties the totals on commit only
+ * - A recompute repairs drift and bumps the version, without losing changes applied during its scan
+ * - A recompute waits for committed lines whose change is not reported yet instead of counting them twice
+ */
+@SpringBootTest(properties = "oa.cart.summary.reconcile-interval-ms=3600000")
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class CartTotalsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void loadFixtureTotals() {
+        // The fixtures are inserted around the store
+        cartTotals.recompute();
+    }
+
+    @Test
+    public void testSummaryEndpoint() throws Exception {
+        mockMvc.perform(get("/api/cart/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemCount", is(3)))
+                .andExpect(jsonPath("$.totalQuantity", is(4)))
+                .andExpect(jsonPath("$.totalAmount", closeTo(2109.96, 0.001)));
+    }
+
+    @Test
+    public void testTotalsMatchFullRecompute() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            List<CartItem> open = cartStore.findAll();
+            int operation = open.isEmpty() ? 0 : random.nextInt(3);
+            if (operation == 0) {
+                cartStore.save(new CartItem(null, null, 1L + random.nextInt(3), 1 + random.nextInt(5),
+                        random.nextInt(10_000) / 100.0, "Product"));
+            } else {
+                CartItem line = open.get(random.nextInt(open.size()));
+                if (operation == 1) {
+                    line.setQuantity(1 + random.nextInt(5));
+                    cartStore.save(line);
+                } else {
+                    assertTrue(cartStore.deleteById(line.getId()));
+                }
+            }
+            assertEquals(CartTotals.sum(cartStore.findAll()), cartTotals.current());
+        }
+    }
+
+    @Test
+    public void testCheckoutEmptiesTotalsOnCommit() {
+        CartTotals.Totals before = cartTotals.current();
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+            cartStore.checkout(41L);
+            throw new IllegalStateException("order insert failed");
+        }));
+        assertEquals(before, cartTotals.current());
+
+        transactionTemplate.executeWithoutResult(tx -> cartStore.checkout(42L));
+        assertEquals(0, cartTotals.current().itemCount());
+        assertEquals(0, cartTotals.current().totalQuantity());
+        assertEquals(0, cartTotals.current().totalAmount().compareTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void testRecomputeRepairsDriftAndBumpsVersion() {
+        long version = cartTotals.version();
+        cartTotals.recompute();
+        assertEquals(version, cartTotals.version());
+
+        jdbcTemplate.update("INSERT INTO cart_items (id, order_id, product_id, product_name, quantity, price) "
+                + "VALUES (99, NULL, 1, 'Around the store', 2, 10.00)");
+        assertEquals(3, cartTotals.current().itemCount());
+
+        assertEquals(4, cartTotals.recompute().itemCount());
+        assertTrue(cartTotals.version() > version);
+        assertEquals(CartTotals.sum(cartStore.findAll()), cartTotals.current());
+    }
+
+    @Test
+    public void testRecomputeKeepsConcurrentChanges() {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Void> recomputes = CompletableFuture.runAsync(() -> {
+            while (writing.get()) {
+                cartTotals.recompute();
+            }
+        });
+        try {
+            for (int i = 0; i < 100; i++) {
+                cartStore.save(new CartItem(null, null, 1L, 1 + i % 3, 1.25, "Product"));
+            }
+        } finally {
+            writing.set(false);
+            recomputes.join();
+        }
+        assertEquals(CartTotals.sum(cartStore.findAll()), cartTotals.current());
+    }
+
+    @Test
+    public void testRecomputeWaitsForUnreportedCommits() throws Exception {
+        AtomicReference<CompletableFuture<CartTotals.Totals>> recompute = new AtomicReference<>();
+        transactionTemplate.executeWithoutResult(tx -> {
+            // Registered before the store's report, so it runs after commit but before the report
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recompute.set(CompletableFuture.supplyAsync(cartTotals::recompute));
+                    assertThrows(TimeoutException.class, () -> recompute.get().get(300, TimeUnit.MILLISECONDS));
+                }
+            });
+            cartStore.save(new CartItem(null, null, 1L, 2, 5.00, "Product"));
+        });
+
+        assertEquals(4, recompute.get().get(5, TimeUnit.SECONDS).itemCount());
+        assertEquals(CartTotals.sum(cartStore.findAll()), cartTotals.current());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import com.example.oa.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the in-memory cart store (oa.cart.store=memory).
+ *
+ * This test validates that:
+ * - Adding, changing and removing open lines writes nothing to cart_items
+ * - Checkout writes the lines as cart_items rows of the order and empties the cart on commit only
+ * - Open lines survive a restart through the snapshot file
+ */
+@SpringBootTest(properties = {
+        "oa.cart.store=memory",
+        "oa.cart.memory.snapshot-path=" + InMemoryCartStoreTest.SNAPSHOT,
+        "oa.cart.memory.snapshot-interval-ms=3600000"
+})
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class InMemoryCartStoreTest {
+
+    static final String SNAPSHOT = "target/cart-store-test/open-lines.json";
+
+    @Autowired
+    private InMemoryCartStore cartStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void clearCart() throws Exception {
+        cartStore.clear();
+        Files.deleteIfExists(Path.of(SNAPSHOT));
+    }
+
+    @Test
+    public void testOpenLinesStayOutOfTheDatabase() {
+        CartItem laptop = cartStore.save(line(1L, "Laptop", 2, 999.99));
+        CartItem mouse = cartStore.save(line(2L, "Mouse", 1, 29.99));
+        assertNotNull(laptop.getId());
+        assertTrue(mouse.getId() > laptop.getId());
+
+        mouse.setQuantity(3);
+        cartStore.save(mouse);
+        assertTrue(cartStore.deleteById(laptop.getId()));
+        assertFalse(cartStore.deleteById(laptop.getId()));
+
+        List<CartItem> open = cartStore.findAll();
+        assertEquals(1, open.size());
+        assertEquals(3, open.get(0).getQuantity());
+        assertNull(open.get(0).getOrderId());
+        assertTrue(cartStore.findById(laptop.getId()).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> cartStore.save(laptop));
+        assertEquals(0, cartItemRows());
+    }
+
+    @Test
+    public void testCheckoutMaterializesLinesOnCommit() {
+        cartStore.save(line(1L, "Laptop", 2, 999.99));
+        cartStore.save(line(3L, "Keyboard", 1, 79.99));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+            cartStore.checkout(41L);
+            throw new IllegalStateException("order insert failed");
+        }));
+        assertEquals(2, cartStore.findAll().size());
+        assertEquals(0, cartItemRows());
+
+        List<CartItem> linked = transactionTemplate.execute(tx -> cartStore.checkout(42L));
+
+        assertEquals(2, linked.size());
+        assertTrue(linked.stream().allMatch(item -> item.getOrderId() == 42L));
+        assertTrue(cartStore.findAll().isEmpty());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE order_id = 42", Integer.class));
+        assertEquals(2079.97, jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity * price) FROM cart_items WHERE order_id = 42", Double.class), 0.001);
+    }
+
+    @Test
+    public void testSnapshotRestoresOpenLines() {
+        CartItem laptop = cartStore.save(line(1L, "Laptop", 2, 999.99));
+        cartStore.writeSnapshot();
+        assertTrue(Files.exists(Path.of(SNAPSHOT)));
+
+        cartStore.clear();
+        cartStore.loadSnapshot();
+
+        CartItem restored = cartStore.findById(laptop.getId()).orElseThrow();
+        assertEquals(laptop, restored);
+    }
+
+    private int cartItemRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items", Integer.class);
+    }
+
+    private static CartItem line(Long productId, String productName, int quantity, double price) {
+        return new CartItem(null, null, productId, quantity, price, productName);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.oa.cart;
+
+import com.example.oa.entity.CartItem;
+import com.example.oa.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for write-behind of cart line updates (oa.cart.write-behind.enabled=true).
+ *
+ * This test validates that:
+ * - Repeated updates of a line are served from memory and written as one row update
+ * - Checkout flushes pending updates before linking the lines to the order
+ * - A rolled-back checkout keeps the updates pending
+ * - Deleting a line drops its pending update, and the cart totals follow pending changes
+ */
+@SpringBootTest(properties = {
+        "oa.cart.write-behind.enabled=true",
+        "oa.cart.write-behind.flush-interval-ms=3600000"
+})
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class WriteBehindCartStoreTest {
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private WriteBehindCartStore writeBehindCartStore;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testUpdatesAreCoalesced() {
+        assertSame(writeBehindCartStore, cartStore);
+        writeBehindCartStore.flush();
+
+        CartItem laptop = cartStore.findById(1L).orElseThrow();
+        for (int quantity = 3; quantity <= 12; quantity++) {
+            laptop.setQuantity(quantity);
+            cartStore.save(laptop);
+        }
+        assertEquals(2, quantityInDatabase(1L));
+        assertEquals(12, cartStore.findById(1L).orElseThrow().getQuantity());
+        assertEquals(12, cartStore.findAll().get(0).getQuantity());
+
+        assertEquals(1, writeBehindCartStore.flush());
+        assertEquals(12, quantityInDatabase(1L));
+        assertEquals(0, writeBehindCartStore.flush());
+
+        CartItem missing = new CartItem(99L, null, 1L, 1, 999.99, "Laptop");
+        assertThrows(ResourceNotFoundException.class, () -> cartStore.save(missing));
+    }
+
+    @Test
+    public void testCheckoutFlushesPendingUpdates() {
+        CartItem mouse = cartStore.findById(2L).orElseThrow();
+        mouse.setQuantity(4);
+        cartStore.save(mouse);
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+            cartStore.checkout(41L);
+            throw new IllegalStateException("order insert failed");
+        }));
+        assertEquals(1, quantityInDatabase(2L));
+        assertEquals(4, cartStore.findById(2L).orElseThrow().getQuantity());
+
+        List<CartItem> linked = transactionTemplate.execute(tx -> {
+            // Loaded before the flush, as a checkout computing the order total would
+            cartStore.findAll();
+            return cartStore.checkout(42L);
+        });
+
+        assertEquals(3, linked.size());
+        assertEquals(4, quantityInDatabase(2L));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE order_id = 42", Integer.class));
+        assertTrue(cartStore.findAll().isEmpty());
+    }
+
+    @Test
+    public void testDeleteDropsPendingUpdate() {
+        cartTotals.recompute();
+        CartItem keyboard = cartStore.findById(3L).orElseThrow();
+        keyboard.setQuantity(5);
+        cartStore.save(keyboard);
+        assertEquals(8, cartTotals.current().totalQuantity());
+
+        assertTrue(cartStore.deleteById(3L));
+        assertTrue(cartStore.findById(3L).isEmpty());
+        assertEquals(0, writeBehindCartStore.flush());
+        assertEquals(2, cartStore.findAll().size());
+        assertEquals(CartTotals.sum(cartStore.findAll()), cartTotals.current());
+    }
+
+    private int quantityInDatabase(Long id) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM cart_items WHERE id = ?", Integer.class, id);
+    }
+}
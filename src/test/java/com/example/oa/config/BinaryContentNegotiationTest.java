@@ -0,0 +1,87 @@
+package com.example.oa.config;
+
+import com.example.oa.dto.OrderResponse;
+import com.example.oa.entity.OrderStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for binary content negotiation.
+ *
+ * This test validates that:
+ * - JSON remains the first (default) converter
+ * - CBOR and Smile converters use the application's Jackson settings (ISO dates, compact pages)
+ * - Binary payloads are smaller than JSON and decode back to the same document
+ */
+@SpringBootTest
+public class BinaryContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    public void testJsonIsDefaultEncoding() {
+        HttpMessageConverter<?> first = handlerAdapter.getMessageConverters().stream()
+                .filter(converter -> converter instanceof AbstractJackson2HttpMessageConverter)
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(first.getSupportedMediaTypes().contains(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testBinaryEncodingsRoundTripSmallerThanJson() throws Exception {
+        Page<OrderResponse> page = samplePage();
+        ObjectMapper json = mapperFor(MediaType.APPLICATION_JSON);
+        byte[] jsonBytes = json.writeValueAsBytes(page);
+        JsonNode expected = json.readTree(jsonBytes);
+
+        for (MediaType mediaType : List.of(MediaType.APPLICATION_CBOR, SMILE)) {
+            ObjectMapper binary = mapperFor(mediaType);
+            byte[] binaryBytes = binary.writeValueAsBytes(page);
+
+            assertTrue(binaryBytes.length < jsonBytes.length,
+                    mediaType + " payload should be smaller than JSON");
+            assertEquals(expected, binary.readTree(binaryBytes));
+            assertEquals("2026-01-15T10:30:00",
+                    binary.readTree(binaryBytes).get("content").get(0).get("orderDate").asText());
+        }
+    }
+
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        return handlerAdapter.getMessageConverters().stream()
+                .filter(converter -> converter instanceof AbstractJackson2HttpMessageConverter)
+                .map(converter -> (AbstractJackson2HttpMessageConverter) converter)
+                .filter(converter -> converter.getSupportedMediaTypes().contains(mediaType))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No converter for " + mediaType))
+                .getObjectMapper();
+    }
+
+    private Page<OrderResponse> samplePage() {
+        List<OrderResponse> orders = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            orders.add(new OrderResponse(i, 100L + i, "Customer " + i,
+                    LocalDateTime.of(2026, 1, 15, 10, 30), OrderStatus.CONFIRMED, 99.99 + i));
+        }
+        return new PageImpl<>(orders, PageRequest.of(0, 20), 100);
+    }
+}
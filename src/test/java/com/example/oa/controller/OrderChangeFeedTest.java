@@ -0,0 +1,124 @@
+package com.example.oa.controller;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the order change feed (GET /api/orders/changes).
+ *
+ * This test validates that:
+ * - Created and updated orders appear in change sequence order
+ * - An order changed again moves to the end of the feed and appears only once
+ * - Pages chain through nextToken
+ * - Rolled-back changes never reach the feed
+ * - Invalid tokens are rejected with 400
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testFeedFollowsChangesInSequence() throws Exception {
+        String start = fetch(null, 100).get("nextToken").asText();
+
+        Order first = orderRepository.save(newOrder());
+        Order second = orderRepository.save(newOrder());
+        Order third = orderRepository.save(newOrder());
+        changeStatus(first.getId(), OrderStatus.CONFIRMED);
+
+        JsonNode page1 = fetch(start, 2);
+        assertTrue(page1.get("hasMore").asBoolean());
+        assertEquals(second.getId(), page1.at("/changes/0/order/id").asLong());
+        assertEquals(third.getId(), page1.at("/changes/1/order/id").asLong());
+
+        JsonNode page2 = fetch(page1.get("nextToken").asText(), 2);
+        assertFalse(page2.get("hasMore").asBoolean());
+        assertEquals(1, page2.get("changes").size());
+        assertEquals(first.getId(), page2.at("/changes/0/order/id").asLong());
+        assertEquals("CONFIRMED", page2.at("/changes/0/order/status").asText());
+        assertTrue(page2.at("/changes/0/changeSeq").asLong() > page1.at("/changes/1/changeSeq").asLong());
+
+        JsonNode caughtUp = fetch(page2.get("nextToken").asText(), 2);
+        assertEquals(0, caughtUp.get("changes").size());
+        assertEquals(page2.get("nextToken").asText(), caughtUp.get("nextToken").asText());
+    }
+
+    @Test
+    public void testRolledBackChangesAreNotInFeed() throws Exception {
+        Order order = orderRepository.save(newOrder());
+        String token = fetch(null, 1000).get("nextToken").asText();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            orderRepository.findById(order.getId()).orElseThrow().setStatus(OrderStatus.CANCELLED);
+            orderRepository.flush();
+            tx.setRollbackOnly();
+        });
+
+        assertEquals(0, fetch(token, 100).get("changes").size());
+    }
+
+    @Test
+    public void testInvalidToken() throws Exception {
+        mockMvc.perform(get("/api/orders/changes").param("since", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/changes").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fetch(String since, int size) throws Exception {
+        var request = get("/api/orders/changes").param("size", Integer.toString(size));
+        if (since != null) {
+            request.param("since", since);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void changeStatus(Long orderId, OrderStatus status) {
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(orderId).orElseThrow().setStatus(status));
+    }
+
+    private static Order newOrder() {
+        Order order = new Order();
+        order.setCustomerId(1L);
+        order.setCustomerName("John Doe");
+        order.setOrderDate(LocalDateTime.of(2026, 2, 1, 9, 0));
+        order.setStatus(OrderStatus.CREATED);
+        order.setTotalAmount(120.0);
+        return order;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.oa.controller;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.id.SnowflakeIdGenerator;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for Snowflake order ids and keyset paging (GET /api/orders?after=...).
+ *
+ * This test validates that:
+ * - New orders get time-ordered ids from the application's generator (its node id), after existing ones
+ * - Snowflake ids are written as JSON strings, small legacy ids as numbers
+ * - Keyset pages walk all orders in id order and report nextAfter / hasMore
+ * - Out-of-range page sizes are rejected with 400
+ */
+@SpringBootTest(properties = "oa.ids.node-id=7")
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderKeysetPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    public void testNewOrdersGetTimeOrderedIds() {
+        Instant before = Instant.now().minusMillis(1);
+        Order first = orderRepository.save(newOrder());
+        Order second = orderRepository.save(newOrder());
+
+        assertTrue(first.getId() > 5);
+        assertTrue(second.getId() > first.getId());
+        assertFalse(SnowflakeIdGenerator.timestampOf(first.getId()).isBefore(before));
+        assertEquals(7, SnowflakeIdGenerator.nodeOf(first.getId()));
+    }
+
+    @Test
+    public void testKeysetPagesFollowIdOrder() throws Exception {
+        Long newest = orderRepository.save(newOrder()).getId();
+
+        mockMvc.perform(get("/api/orders").param("after", "0").param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].id", contains(1, 2, 3, 4)))
+                .andExpect(jsonPath("$.nextAfter", is(4)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+
+        mockMvc.perform(get("/api/orders").param("after", "4").param("size", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].id", contains(5, newest.toString())))
+                .andExpect(jsonPath("$.nextAfter", is(newest.toString())))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+
+        mockMvc.perform(get("/api/orders").param("after", newest.toString()))
+                .andExpect(jsonPath("$.orders", hasSize(0)))
+                .andExpect(jsonPath("$.nextAfter", is(newest.toString())));
+    }
+
+    @Test
+    public void testInvalidPageSizeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/orders").param("after", "0").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders").param("after", "0").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Order newOrder() {
+        return new Order(null, 1L, LocalDateTime.of(2026, 2, 1, 9, 0), OrderStatus.CREATED, 50.0, "John Doe");
+    }
+}
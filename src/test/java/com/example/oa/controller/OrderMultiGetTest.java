@@ -0,0 +1,75 @@
+package com.example.oa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the order multi-get endpoint (GET /api/orders?ids=...).
+ *
+ * This test validates that:
+ * - Orders are returned in request order
+ * - Missing ids are reported instead of failing the request
+ * - Duplicate ids are collapsed
+ * - Empty, malformed and oversized id lists are rejected with 400
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderMultiGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testMultiGet_PreservesRequestOrder() throws Exception {
+        mockMvc.perform(get("/api/orders").param("ids", "4,1,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", hasSize(3)))
+                .andExpect(jsonPath("$.orders[0].id", is(4)))
+                .andExpect(jsonPath("$.orders[0].status", is("DELIVERED")))
+                .andExpect(jsonPath("$.orders[1].id", is(1)))
+                .andExpect(jsonPath("$.orders[1].customerName", is("John Doe")))
+                .andExpect(jsonPath("$.orders[2].id", is(3)))
+                .andExpect(jsonPath("$.missingIds", hasSize(0)));
+    }
+
+    @Test
+    public void testMultiGet_ReportsMissingAndCollapsesDuplicates() throws Exception {
+        mockMvc.perform(get("/api/orders").param("ids", "2,9999,2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", hasSize(2)))
+                .andExpect(jsonPath("$.orders[0].id", is(2)))
+                .andExpect(jsonPath("$.orders[1].id", is(5)))
+                .andExpect(jsonPath("$.missingIds", contains(9999)));
+    }
+
+    @Test
+    public void testMultiGet_InvalidIds() throws Exception {
+        mockMvc.perform(get("/api/orders").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("abc")));
+
+        mockMvc.perform(get("/api/orders").param("ids", ""))
+                .andExpect(status().isBadRequest());
+
+        String tooMany = LongStream.rangeClosed(1, 101)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/orders").param("ids", tooMany))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.oa.controller;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for order status history (GET /api/orders/{id}/history, GET /api/orders/transitions).
+ *
+ * This test validates that:
+ * - Creation and every status transition are recorded in order
+ * - Updates that keep the status are not recorded
+ * - Recent transitions can be filtered by target status
+ * - Unknown orders return 404 and invalid windows 400
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderStatusHistoryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testHistoryRecordsEveryTransition() throws Exception {
+        Order order = orderRepository.save(newOrder());
+        changeStatus(order.getId(), OrderStatus.CONFIRMED);
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(order.getId()).orElseThrow().setTotalAmount(99.0));
+        changeStatus(order.getId(), OrderStatus.SHIPPED);
+
+        mockMvc.perform(get("/api/orders/{id}/history", order.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].fromStatus", nullValue()))
+                .andExpect(jsonPath("$[0].toStatus", is("CREATED")))
+                .andExpect(jsonPath("$[1].fromStatus", is("CREATED")))
+                .andExpect(jsonPath("$[1].toStatus", is("CONFIRMED")))
+                .andExpect(jsonPath("$[2].fromStatus", is("CONFIRMED")))
+                .andExpect(jsonPath("$[2].toStatus", is("SHIPPED")))
+                .andExpect(jsonPath("$[2].changedAt", notNullValue()));
+    }
+
+    @Test
+    public void testRecentTransitions() throws Exception {
+        Order shipped = orderRepository.save(newOrder());
+        Order confirmed = orderRepository.save(newOrder());
+        changeStatus(shipped.getId(), OrderStatus.CONFIRMED);
+        changeStatus(confirmed.getId(), OrderStatus.CONFIRMED);
+        changeStatus(shipped.getId(), OrderStatus.SHIPPED);
+
+        mockMvc.perform(get("/api/orders/transitions").param("minutes", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].orderId", is(shipped.getId().toString())))
+                .andExpect(jsonPath("$[0].toStatus", is("SHIPPED")));
+
+        mockMvc.perform(get("/api/orders/transitions").param("status", "CONFIRMED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].toStatus", everyItem(is("CONFIRMED"))));
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        mockMvc.perform(get("/api/orders/{id}/history", 9999))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/orders/transitions").param("minutes", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void changeStatus(Long orderId, OrderStatus status) {
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(orderId).orElseThrow().setStatus(status));
+    }
+
+    private static Order newOrder() {
+        Order order = new Order();
+        order.setCustomerId(1L);
+        order.setCustomerName("John Doe");
+        order.setOrderDate(LocalDateTime.of(2026, 2, 1, 9, 0));
+        order.setStatus(OrderStatus.CREATED);
+        order.setTotalAmount(120.0);
+        return order;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.oa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for sparse fieldsets (?fields=) on order and cart item reads.
+ *
+ * This test validates that:
+ * - Only the requested properties are returned, in the requested order
+ * - Filters, paging and sorting still apply
+ * - Computed cart subtotals are available as a field
+ * - Cart items linked to an order are not part of the cart
+ * - Unknown fields are rejected with 400
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SparseFieldsetsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testOrderList_ReturnsOnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/orders")
+                .param("fields", "id,status,totalAmount")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.content[0].totalAmount", is(2029.97)))
+                .andExpect(jsonPath("$.content[0].customerName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].orderDate").doesNotExist())
+                .andExpect(jsonPath("$.totalElements", is(5)))
+                .andExpect(jsonPath("$.size", is(2)));
+    }
+
+    @Test
+    public void testOrderList_AppliesStatusFilterAndSort() throws Exception {
+        mockMvc.perform(get("/api/orders")
+                .param("fields", "id,customerId")
+                .param("status", "CANCELLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(5)));
+
+        mockMvc.perform(get("/api/orders")
+                .param("fields", "id,orderDate")
+                .param("sort", "orderDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(5)))
+                .andExpect(jsonPath("$.content[0].orderDate", is("2026-01-30T11:20:00")));
+    }
+
+    @Test
+    public void testOrderDetail_ReturnsOnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/orders/3").param("fields", "status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("SHIPPED")))
+                .andExpect(jsonPath("$.id").doesNotExist());
+
+        mockMvc.perform(get("/api/orders/9999").param("fields", "status"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString("Order")));
+    }
+
+    @Test
+    public void testCartItems_SubtotalIsComputed() throws Exception {
+        mockMvc.perform(get("/api/cart/items").param("fields", "productName,subtotal"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].productName", is("Laptop")))
+                .andExpect(jsonPath("$[0].subtotal", is(1999.98)))
+                .andExpect(jsonPath("$[0].price").doesNotExist());
+    }
+
+    @Test
+    public void testCartItems_ListsOpenLinesOnly() throws Exception {
+        jdbcTemplate.update("INSERT INTO cart_items (id, order_id, product_id, product_name, quantity, price) "
+                + "VALUES (4, 1, 2, 'Mouse', 3, 29.99)");
+
+        mockMvc.perform(get("/api/cart/items").param("fields", "id,orderId,quantity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(1, 2, 3)))
+                .andExpect(jsonPath("$[0].orderId").value(nullValue()))
+                .andExpect(jsonPath("$[0].quantity", is(2)));
+    }
+
+    @Test
+    public void testUnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/orders").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.message", containsString("password")));
+
+        mockMvc.perform(get("/api/cart/items").param("fields", ""))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.oa.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the synthetic dataset generator.
+ *
+ * This test validates that the generator:
+ * - Inserts the configured number of rows into every table
+ * - Keeps each order's totalAmount equal to the sum of its linked cart items
+ * - Produces identical rows for the same seed
+ */
+@SpringBootTest
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SyntheticDataProperties smallDataset() {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setSeed(7L);
+        properties.setCustomers(20);
+        properties.setProducts(15);
+        properties.setOrders(300);
+        properties.setOpenCartItems(40);
+        properties.setBatchSize(64);
+        properties.setReferenceDate(LocalDate.of(2026, 1, 31));
+        return properties;
+    }
+
+    @Test
+    public void testGenerate_InsertsConfiguredRowCounts() {
+        SyntheticDataReport report = generator.generate(smallDataset());
+
+        assertEquals(20, count("customers"));
+        assertEquals(15, count("products"));
+        assertEquals(300, count("orders"));
+        assertEquals(report.getCartItems(), count("cart_items"));
+        assertEquals(40, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE order_id IS NULL", Long.class));
+    }
+
+    @Test
+    public void testGenerate_OrderTotalsMatchLinkedItems() {
+        generator.generate(smallDataset());
+
+        Long mismatches = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders o WHERE ABS(o.total_amount - "
+                        + "(SELECT SUM(c.quantity * c.price) FROM cart_items c WHERE c.order_id = o.id)) > 0.01",
+                Long.class);
+        assertEquals(0L, mismatches);
+    }
+
+    @Test
+    public void testGenerate_SameSeedProducesSameRows() {
+        generator.generate(smallDataset());
+        List<Map<String, Object>> first = snapshot();
+
+        jdbcTemplate.execute("DELETE FROM cart_items");
+        jdbcTemplate.execute("DELETE FROM orders");
+        jdbcTemplate.execute("DELETE FROM products");
+        jdbcTemplate.execute("DELETE FROM customers");
+        generator.generate(smallDataset());
+
+        assertEquals(first, snapshot());
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        // Compare relative ids so the check does not depend on identity positions
+        return jdbcTemplate.queryForList(
+                "SELECT o.id - (SELECT MIN(id) FROM orders) AS rel_id, o.customer_name, o.order_date, "
+                        + "o.status, o.total_amount FROM orders o ORDER BY o.id");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.oa.datasource;
+
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for read/write splitting between the primary and a read replica.
+ *
+ * This test validates that:
+ * - Read-only transactions are served by the replica, which only sees synced data
+ * - Clients holding the read-your-writes cookie read from the primary
+ * - A committed write pins the request to the primary and sets the cookie
+ * - Reads fall back to the primary while the replica lags behind
+ */
+@SpringBootTest(properties = {
+        "oa.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "oa.datasource.replica.local-sync.enabled=true",
+        "oa.datasource.replica.local-sync.interval-ms=3600000",
+        "oa.datasource.replica.lag-check-interval-ms=3600000",
+        "oa.orders.lookup.coalescing-window=0"
+})
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicatest;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocalReplicaSync localReplicaSync;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void resetReplica() {
+        ReadYourWrites.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testReadOnlyQueriesUseReplica() throws Exception {
+        localReplicaSync.sync();
+        mockMvc.perform(get("/api/orders").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", hasSize(2)));
+
+        confirmOrder(1L);
+        mockMvc.perform(get("/api/orders").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].status", is("CREATED")));
+
+        localReplicaSync.sync();
+        mockMvc.perform(get("/api/orders").param("ids", "1,2"))
+                .andExpect(jsonPath("$.orders[0].status", is("CONFIRMED")));
+    }
+
+    @Test
+    public void testReadYourWritesCookieReadsPrimary() throws Exception {
+        emptyReplica();
+        Cookie recentWrite = new Cookie(ReadYourWrites.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() + 60_000));
+        Cookie expired = new Cookie(ReadYourWrites.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() - 1));
+
+        mockMvc.perform(get("/api/orders").param("ids", "1,2").cookie(recentWrite))
+                .andExpect(jsonPath("$.orders", hasSize(2)));
+        mockMvc.perform(get("/api/orders").param("ids", "1,2").cookie(expired))
+                .andExpect(jsonPath("$.orders", hasSize(0)));
+    }
+
+    @Test
+    public void testCommittedWriteSetsCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        confirmOrder(1L);
+
+        assertTrue(ReadYourWrites.isPinnedToPrimary());
+        Cookie cookie = response.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimary() throws Exception {
+        emptyReplica();
+        mockMvc.perform(get("/api/orders").param("ids", "1,2"))
+                .andExpect(jsonPath("$.orders", hasSize(0)));
+
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE replication_heartbeat SET beat_at = DATEADD('MINUTE', -5, beat_at)");
+        }
+        replicaLagMonitor.check();
+        assertFalse(replicaLagMonitor.isHealthy());
+
+        mockMvc.perform(get("/api/orders").param("ids", "1,2"))
+                .andExpect(jsonPath("$.orders", hasSize(2)));
+    }
+
+    // Syncs the replica as it was before the fixtures were loaded
+    private void emptyReplica() throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            localReplicaSync.sync();
+            statement.executeUpdate("DELETE FROM orders");
+        }
+    }
+
+    private void confirmOrder(Long orderId) {
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(orderId).orElseThrow().setStatus(OrderStatus.CONFIRMED));
+    }
+}
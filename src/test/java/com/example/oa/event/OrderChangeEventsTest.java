@@ -0,0 +1,100 @@
+package com.example.oa.event;
+
+import com.example.oa.cache.OrderLookupCoalescer;
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for order change events and the lookup invalidation built on them.
+ *
+ * This test validates that:
+ * - Inserting an order publishes a CREATED event after commit
+ * - Changing the status publishes an UPDATED event with the previous status
+ * - Rolled-back changes publish nothing
+ * - Committed changes invalidate coalesced order lookups
+ */
+@SpringBootTest
+@RecordApplicationEvents
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderChangeEventsTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderLookupCoalescer orderLookupCoalescer;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    public void testInsertAndStatusChangePublishEvents() {
+        Order order = orderRepository.save(newOrder());
+
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(order.getId()).orElseThrow().setStatus(OrderStatus.CONFIRMED));
+
+        List<OrderChangedEvent> published = events.stream(OrderChangedEvent.class).toList();
+        assertEquals(2, published.size());
+
+        assertEquals(OrderChangedEvent.Type.CREATED, published.get(0).getType());
+        assertEquals(order.getId(), published.get(0).getOrderId());
+        assertEquals(OrderStatus.CREATED, published.get(0).getStatus());
+
+        assertEquals(OrderChangedEvent.Type.UPDATED, published.get(1).getType());
+        assertEquals(OrderStatus.CREATED, published.get(1).getPreviousStatus());
+        assertEquals(OrderStatus.CONFIRMED, published.get(1).getStatus());
+        assertTrue(published.get(1).isStatusChange());
+    }
+
+    @Test
+    public void testRolledBackChangePublishesNothing() {
+        Order order = orderRepository.save(newOrder());
+        events.clear();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            orderRepository.findById(order.getId()).orElseThrow().setStatus(OrderStatus.CANCELLED);
+            orderRepository.flush();
+            tx.setRollbackOnly();
+        });
+
+        assertEquals(0, events.stream(OrderChangedEvent.class).count());
+    }
+
+    @Test
+    public void testCommittedChangeInvalidatesCoalescedLookup() {
+        Order order = orderRepository.save(newOrder());
+        assertEquals(OrderStatus.CREATED, orderLookupCoalescer.getOrder(order.getId()).getStatus());
+
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(order.getId()).orElseThrow().setStatus(OrderStatus.CONFIRMED));
+
+        assertEquals(OrderStatus.CONFIRMED, orderLookupCoalescer.getOrder(order.getId()).getStatus());
+    }
+
+    private Order newOrder() {
+        Order order = new Order();
+        order.setCustomerId(1L);
+        order.setCustomerName("John Doe");
+        order.setOrderDate(LocalDateTime.of(2026, 2, 1, 9, 0));
+        order.setStatus(OrderStatus.CREATED);
+        order.setTotalAmount(120.0);
+        return order;
+    }
+}
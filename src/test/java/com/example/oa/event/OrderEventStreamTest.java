@@ -0,0 +1,118 @@
+package com.example.oa.event;
+
+import com.example.oa.dto.OrderStatusEvent;
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Test class for the order event stream (GET /api/orders/events).
+ *
+ * This test validates that:
+ * - Committed status transitions are pushed to matching subscribers
+ * - Subscribers only receive events matching their status / customer filters
+ * - A subscriber whose buffer overflows is dropped instead of blocking publishers
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testStatusTransitionsArePushed() throws Exception {
+        Order order = orderRepository.save(newOrder(1L));
+        Order otherCustomer = orderRepository.save(newOrder(2L));
+
+        MvcResult shipped = mockMvc.perform(get("/api/orders/events").param("status", "SHIPPED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult customer = mockMvc.perform(get("/api/orders/events").param("customerId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        changeStatus(order.getId(), OrderStatus.CONFIRMED);
+        changeStatus(otherCustomer.getId(), OrderStatus.CONFIRMED);
+        changeStatus(order.getId(), OrderStatus.SHIPPED);
+
+        String customerStream = awaitEvents(customer.getResponse(), 2);
+        assertTrue(customerStream.contains("event:order-status"));
+        assertTrue(customerStream.contains("\"previousStatus\":\"CREATED\",\"status\":\"CONFIRMED\""));
+        assertTrue(customerStream.contains("\"previousStatus\":\"CONFIRMED\",\"status\":\"SHIPPED\""));
+        assertFalse(customerStream.contains("\"orderId\":\"" + otherCustomer.getId() + "\","));
+
+        String shippedStream = awaitEvents(shipped.getResponse(), 1);
+        assertTrue(shippedStream.contains("\"orderId\":\"" + order.getId() + "\","));
+        assertFalse(shippedStream.contains("\"status\":\"CONFIRMED\""));
+    }
+
+    @Test
+    public void testSlowSubscriberIsDropped() {
+        List<Runnable> pendingSends = new ArrayList<>();  // never run: the client is not reading
+        OrderEventSubscription subscription =
+                new OrderEventSubscription(new SseEmitter(), null, null, 2, pendingSends::add);
+        OrderStatusEvent event = new OrderStatusEvent(1L, 1L, "John Doe",
+                OrderStatus.CREATED, OrderStatus.CONFIRMED, 100.0, LocalDateTime.now());
+
+        assertEquals(OrderEventSubscription.Delivery.QUEUED, subscription.offer(1, event));
+        assertEquals(OrderEventSubscription.Delivery.QUEUED, subscription.offer(2, event));
+        assertEquals(OrderEventSubscription.Delivery.OVERFLOW, subscription.offer(3, event));
+        assertEquals(OrderEventSubscription.Delivery.CLOSED, subscription.offer(4, event));
+
+        assertTrue(subscription.isClosed());
+        assertEquals(1, pendingSends.size());
+    }
+
+    private void changeStatus(Long orderId, OrderStatus status) {
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(orderId).orElseThrow().setStatus(status));
+    }
+
+    private static String awaitEvents(MockHttpServletResponse response, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        // An event is written in several chunks; only count it once its terminating blank line is there
+        while ((content.split("event:order-status", -1).length - 1 < count || !content.endsWith("\n\n"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private static Order newOrder(Long customerId) {
+        Order order = new Order();
+        order.setCustomerId(customerId);
+        order.setCustomerName(customerId == 1L ? "John Doe" : "Jane Smith");
+        order.setOrderDate(LocalDateTime.of(2026, 2, 1, 9, 0));
+        order.setStatus(OrderStatus.CREATED);
+        order.setTotalAmount(120.0);
+        return order;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.oa.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SnowflakeIdGenerator.
+ *
+ * This test validates that:
+ * - Ids encode their creation time and node
+ * - Ids stay unique and increasing when a millisecond's sequence is exhausted or the clock goes back
+ * - Concurrent callers never receive the same id
+ */
+public class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-10-19T12:00:00Z").toEpochMilli();
+
+    @Test
+    public void testIdsEncodeTimestampAndNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertEquals(Instant.ofEpochMilli(NOW), SnowflakeIdGenerator.timestampOf(id));
+        assertEquals(42, SnowflakeIdGenerator.nodeOf(id));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+
+    @Test
+    public void testSequenceOverflowAndClockSkewKeepIdsIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        // 5001 ids in one millisecond borrowed the next one
+        assertEquals(Instant.ofEpochMilli(NOW + 1), SnowflakeIdGenerator.timestampOf(previous));
+
+        clock.set(NOW - 1000);
+        long afterSkew = generator.nextId();
+        assertTrue(afterSkew > previous);
+
+        clock.set(NOW + 10);
+        assertEquals(Instant.ofEpochMilli(NOW + 10), SnowflakeIdGenerator.timestampOf(generator.nextId()));
+    }
+
+    @Test
+    public void testConcurrentCallersGetUniqueIds() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long previous = 0;
+                for (int i = 0; i < perThread; i++) {
+                    long id = generator.nextId();
+                    assertTrue(id > previous);
+                    previous = id;
+                    ids.add(id);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, ids.size());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.oa.inventory;
+
+import com.example.oa.exception.BusinessRuleException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for stock reservations at checkout.
+ *
+ * This test validates that:
+ * - Hundreds of concurrent checkouts of one product never oversell it
+ * - Multi-product reservations are all or nothing and undone by a rollback
+ * - A stale counter cannot oversell, and cancelled orders return their units
+ * - Products without stock tracking can always be reserved
+ */
+@Slf4j
+@SpringBootTest(properties = "oa.inventory.refresh-interval-ms=3600000")
+@Sql(scripts = "/test-data/base-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class StockReservationsTest {
+
+    private static final int CHECKOUTS = 400;
+
+    @Autowired
+    private StockReservations stockReservations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void stockProducts() {
+        jdbcTemplate.update("UPDATE products SET stock = 50 WHERE id = 1");
+        jdbcTemplate.update("UPDATE products SET stock = 5 WHERE id = 2");
+        stockReservations.refresh();
+    }
+
+    @Test
+    public void testConcurrentCheckoutsOfOneProductNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    stockReservations.reserve(Map.of(1L, 1));
+                    return true;
+                } catch (BusinessRuleException ex) {
+                    return false;
+                }
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        executor.shutdown();
+        log.info("{} concurrent checkouts of one product in {} ms ({} reserved)", CHECKOUTS, elapsedMillis, succeeded);
+
+        assertEquals(50, succeeded);
+        assertEquals(0, stock(1L));
+        assertEquals(OptionalLong.of(0), stockReservations.available(1L));
+    }
+
+    @Test
+    public void testReservationIsAllOrNothing() {
+        assertThrows(BusinessRuleException.class, () -> stockReservations.reserve(Map.of(1L, 10, 2L, 6)));
+        assertEquals(50, stock(1L));
+        assertEquals(OptionalLong.of(50), stockReservations.available(1L));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+            stockReservations.reserve(Map.of(1L, 10, 2L, 5));
+            throw new IllegalStateException("order insert failed");
+        }));
+        assertEquals(50, stock(1L));
+        assertEquals(5, stock(2L));
+        assertEquals(OptionalLong.of(5), stockReservations.available(2L));
+
+        stockReservations.reserve(Map.of(1L, 10, 2L, 5));
+        assertEquals(40, stock(1L));
+        assertEquals(0, stock(2L));
+    }
+
+    @Test
+    public void testStaleCounterCannotOversell() {
+        assertEquals(OptionalLong.of(5), stockReservations.available(2L));
+        // Sold elsewhere (another instance) after the counter was loaded
+        jdbcTemplate.update("UPDATE products SET stock = 1 WHERE id = 2");
+
+        assertThrows(BusinessRuleException.class, () -> stockReservations.reserve(Map.of(2L, 3)));
+        assertEquals(1, stock(2L));
+        assertEquals(OptionalLong.of(1), stockReservations.available(2L));
+    }
+
+    @Test
+    public void testReleaseReturnsOrderItemsToStock() {
+        stockReservations.reserve(Map.of(1L, 3, 2L, 2));
+        jdbcTemplate.update("INSERT INTO cart_items (id, order_id, product_id, product_name, quantity, price) VALUES "
+                + "(1, 42, 1, 'Laptop', 2, 999.99), (2, 42, 1, 'Laptop', 1, 999.99), (3, 42, 2, 'Mouse', 2, 29.99)");
+
+        stockReservations.release(42L);
+
+        assertEquals(50, stock(1L));
+        assertEquals(5, stock(2L));
+        assertEquals(OptionalLong.of(50), stockReservations.available(1L));
+    }
+
+    @Test
+    public void testUntrackedProductIsAlwaysAvailable() {
+        assertEquals(OptionalLong.empty(), stockReservations.available(3L));
+        stockReservations.reserve(Map.of(3L, 1_000));
+        assertNull(jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = 3", Integer.class));
+    }
+
+    private int stock(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.oa.json;
+
+import com.example.oa.config.JacksonConfig;
+import com.example.oa.dto.CartItemResponse;
+import com.example.oa.dto.OrderBatchResponse;
+import com.example.oa.dto.OrderResponse;
+import com.example.oa.entity.OrderStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks for the custom response serializers registered by JacksonConfig.
+ *
+ * This test suite validates that:
+ * - LocalDateTime output is identical to the default ISO_LOCAL_DATE_TIME format
+ * - Page responses keep the fields clients rely on and drop the nested pageable object
+ * - Ids beyond the JavaScript safe integer range are written as strings
+ */
+@DisplayName("Response Serializer Checks")
+class ResponseSerializationTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        JacksonConfig config = new JacksonConfig();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(config.blackbirdModule());
+        objectMapper.registerModule(config.responseSerializersModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("LocalDateTime should serialize exactly like ISO_LOCAL_DATE_TIME")
+    void testLocalDateTimeMatchesIsoFormat() throws Exception {
+        List<LocalDateTime> values = List.of(
+                LocalDateTime.of(2026, 1, 15, 10, 30, 0),
+                LocalDateTime.of(2026, 12, 31, 23, 59, 59),
+                LocalDateTime.of(2026, 1, 5, 0, 0, 0, 120_000_000),
+                LocalDateTime.of(2026, 1, 5, 0, 0, 0, 1),
+                LocalDateTime.of(987, 3, 4, 5, 6, 7),
+                LocalDateTime.of(12026, 1, 1, 0, 0, 0),
+                LocalDateTime.of(-5, 1, 1, 0, 0, 0));
+
+        for (LocalDateTime value : values) {
+            String expected = "\"" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + "\"";
+            assertEquals(expected, objectMapper.writeValueAsString(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Page should serialize to the compact envelope")
+    void testPageSerializesCompactEnvelope() throws Exception {
+        OrderResponse order = new OrderResponse(1L, 100L, "John Doe",
+                LocalDateTime.of(2026, 1, 15, 10, 30), OrderStatus.CREATED, 99.99);
+        Page<OrderResponse> page = new PageImpl<>(List.of(order),
+                PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "orderDate")), 3);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page));
+
+        assertEquals(1, json.get("content").size());
+        assertEquals("2026-01-15T10:30:00", json.get("content").get(0).get("orderDate").asText());
+        assertEquals("John Doe", json.get("content").get(0).get("customerName").asText());
+        assertEquals(1, json.get("number").asInt());
+        assertEquals(1, json.get("size").asInt());
+        assertEquals(3, json.get("totalElements").asLong());
+        assertEquals(3, json.get("totalPages").asInt());
+        assertFalse(json.get("first").asBoolean());
+        assertFalse(json.get("last").asBoolean());
+        assertEquals("orderDate,desc", json.get("sort").get(0).asText());
+        assertNull(json.get("pageable"));
+    }
+
+    @Test
+    @DisplayName("Unsorted empty page should omit sort")
+    void testEmptyUnsortedPage() throws Exception {
+        Page<OrderResponse> page = Page.empty(PageRequest.of(0, 10));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page));
+
+        assertEquals(0, json.get("content").size());
+        assertTrue(json.get("empty").asBoolean());
+        assertNull(json.get("sort"));
+    }
+
+    @Test
+    @DisplayName("Snowflake ids should serialize as strings, small ids as numbers")
+    void testLargeIdsSerializeAsStrings() throws Exception {
+        long snowflakeId = 105569456914169856L;
+        OrderResponse order = new OrderResponse(snowflakeId, 100L, "John Doe",
+                LocalDateTime.of(2026, 1, 15, 10, 30), OrderStatus.CREATED, 99.99);
+        CartItemResponse item = new CartItemResponse(snowflakeId + 1, snowflakeId, 50L, "Laptop", 1, 9.99, 9.99);
+        OrderBatchResponse batch = new OrderBatchResponse(List.of(), List.of(7L, snowflakeId));
+
+        JsonNode orderJson = objectMapper.readTree(objectMapper.writeValueAsString(order));
+        assertEquals("105569456914169856", orderJson.get("id").textValue());
+        assertTrue(orderJson.get("customerId").isNumber());
+        JsonNode itemJson = objectMapper.readTree(objectMapper.writeValueAsString(item));
+        assertEquals("105569456914169857", itemJson.get("id").textValue());
+        assertEquals("105569456914169856", itemJson.get("orderId").textValue());
+        assertTrue(itemJson.get("productId").isNumber());
+        JsonNode batchJson = objectMapper.readTree(objectMapper.writeValueAsString(batch));
+        assertEquals(7, batchJson.get("missingIds").get(0).intValue());
+        assertEquals("105569456914169856", batchJson.get("missingIds").get(1).textValue());
+
+        order.setId(1L);
+        assertTrue(objectMapper.writeValueAsString(order).contains("\"id\":1,"));
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.oa.outbox;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the order outbox and its relay.
+ *
+ * This test validates that:
+ * - Order creation and status changes are written to the outbox and relayed to the sink
+ * - Updates that do not change the status and rolled-back changes produce no message
+ * - A sink outage backs messages off without charging attempts; they are delivered in order later
+ * - A message the sink keeps rejecting backs off, holds back only its own order and is
+ *   dead-lettered; its order stays blocked until the dead letter is deleted or moved back
+ */
+@SpringBootTest(properties = {
+        "oa.outbox.relay.interval-ms=3600000",  // relay runs only when called
+        "oa.outbox.relay.max-attempts=3",
+        // Own database: cached contexts of other tests run their relays against the shared one
+        "spring.datasource.url=jdbc:h2:mem:outboxtest"
+})
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testLifecycleEventsAreRelayed() throws Exception {
+        Order order = orderRepository.save(newOrder());
+        update(order.getId(), o -> o.setTotalAmount(150.0));
+        update(order.getId(), o -> o.setStatus(OrderStatus.CONFIRMED));
+        transactionTemplate.executeWithoutResult(tx -> {
+            orderRepository.findById(order.getId()).orElseThrow().setStatus(OrderStatus.CANCELLED);
+            orderRepository.flush();
+            tx.setRollbackOnly();
+        });
+
+        relay.relayBatch();
+
+        List<OutboxMessage> messages = messagesFor(order.getId());
+        assertEquals(2, messages.size());
+        assertEquals(OutboxMessage.ORDER_CREATED, messages.get(0).getEventType());
+        assertEquals(OutboxMessage.ORDER_STATUS_CHANGED, messages.get(1).getEventType());
+        assertTrue(messages.get(0).getId() < messages.get(1).getId());
+
+        JsonNode payload = objectMapper.readTree(messages.get(1).getPayload());
+        assertEquals("CREATED", payload.get("previousStatus").asText());
+        assertEquals("CONFIRMED", payload.get("status").asText());
+        assertEquals(150.0, payload.get("totalAmount").asDouble());
+        assertEquals(0, pendingFor(order.getId()));
+    }
+
+    @Test
+    public void testSinkOutageChargesNoAttempts() {
+        OutboxSink failing = messages -> {
+            throw new IllegalStateException("sink unavailable");
+        };
+        Order first = orderRepository.save(newOrder());
+        update(first.getId(), o -> o.setStatus(OrderStatus.CONFIRMED));
+        Order second = orderRepository.save(newOrder());
+
+        ReflectionTestUtils.setField(relay, "sink", failing);
+        try {
+            // More runs than max-attempts: an outage must not dead-letter anything
+            for (int run = 0; run < 5; run++) {
+                relay.relayBatch();
+                assertEquals(0, relay.relayBatch(), "backing-off messages are not retried");
+                elapseBackoff();
+            }
+        } finally {
+            ReflectionTestUtils.setField(relay, "sink", sink);
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(attempts), 0) FROM order_outbox WHERE aggregate_id IN (?, ?)",
+                Integer.class, first.getId(), second.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_outbox_dead_letter WHERE aggregate_id IN (?, ?)",
+                Integer.class, first.getId(), second.getId()));
+        assertTrue(messagesFor(first.getId()).isEmpty());
+
+        relay.relayBatch();
+
+        assertEquals(0, pendingFor(first.getId()));
+        assertEquals(0, pendingFor(second.getId()));
+        List<OutboxMessage> delivered = messagesFor(first.getId());
+        assertEquals(List.of(OutboxMessage.ORDER_CREATED, OutboxMessage.ORDER_STATUS_CHANGED),
+                delivered.stream().map(OutboxMessage::getEventType).toList());
+        assertEquals(1, messagesFor(second.getId()).size());
+    }
+
+    @Test
+    public void testPoisonMessageIsDeadLetteredWithoutBlockingOthers() {
+        Order poisoned = orderRepository.save(newOrder());
+        update(poisoned.getId(), o -> o.setStatus(OrderStatus.CONFIRMED));
+        Long poisonId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM order_outbox WHERE aggregate_id = ?", Long.class, poisoned.getId());
+        AtomicInteger poisonTries = new AtomicInteger();
+        OutboxSink rejecting = messages -> {
+            if (messages.stream().anyMatch(message -> message.getId().equals(poisonId))) {
+                poisonTries.incrementAndGet();
+                throw new IllegalArgumentException("malformed payload");
+            }
+            sink.publish(messages);
+        };
+
+        ReflectionTestUtils.setField(relay, "sink", rejecting);
+        try {
+            Order first = orderRepository.save(newOrder());
+            relay.relayBatch();
+            assertEquals(1, messagesFor(first.getId()).size());
+            // The status change waits behind the failing creation message
+            assertEquals(2, pendingFor(poisoned.getId()));
+            assertEquals(1, attemptsOf(poisonId));
+            assertTrue(jdbcTemplate.queryForObject("SELECT last_error FROM order_outbox WHERE id = ?",
+                    String.class, poisonId).contains("malformed payload"));
+
+            // Backing off: neither the poison message nor its order's later message is tried
+            int tries = poisonTries.get();
+            Order second = orderRepository.save(newOrder());
+            relay.relayBatch();
+            assertEquals(1, messagesFor(second.getId()).size());
+            assertEquals(tries, poisonTries.get());
+            assertEquals(1, attemptsOf(poisonId));
+            assertTrue(messagesFor(poisoned.getId()).isEmpty());
+
+            for (int attempt = 2; attempt <= 3; attempt++) {
+                elapseBackoff();
+                Order other = orderRepository.save(newOrder());
+                relay.relayBatch();
+                assertEquals(1, messagesFor(other.getId()).size());
+            }
+            assertEquals(1, pendingFor(poisoned.getId()));
+            assertEquals(3, jdbcTemplate.queryForObject(
+                    "SELECT attempts FROM order_outbox_dead_letter WHERE id = ?", Integer.class, poisonId));
+
+            // The dead letter keeps blocking its order until it is resolved
+            tries = poisonTries.get();
+            elapseBackoff();
+            relay.relayBatch();
+            assertEquals(tries, poisonTries.get());
+            assertEquals(1, pendingFor(poisoned.getId()));
+            assertTrue(messagesFor(poisoned.getId()).isEmpty());
+        } finally {
+            ReflectionTestUtils.setField(relay, "sink", sink);
+        }
+
+        jdbcTemplate.update("DELETE FROM order_outbox_dead_letter WHERE id = ?", poisonId);
+        relay.relayBatch();
+
+        assertEquals(0, pendingFor(poisoned.getId()));
+        List<OutboxMessage> delivered = messagesFor(poisoned.getId());
+        assertEquals(1, delivered.size());
+        assertEquals(OutboxMessage.ORDER_STATUS_CHANGED, delivered.get(0).getEventType());
+    }
+
+    @Test
+    public void testRequeuedDeadLetterIsDeliveredInOrder() {
+        Order order = orderRepository.save(newOrder());
+        update(order.getId(), o -> o.setStatus(OrderStatus.CONFIRMED));
+        Long firstId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM order_outbox WHERE aggregate_id = ?", Long.class, order.getId());
+        jdbcTemplate.update("INSERT INTO order_outbox_dead_letter "
+                + "(id, aggregate_id, event_type, payload, created_at, attempts, last_error, dead_at) "
+                + "SELECT id, aggregate_id, event_type, payload, created_at, 3, 'rejected', created_at "
+                + "FROM order_outbox WHERE id = ?", firstId);
+        jdbcTemplate.update("DELETE FROM order_outbox WHERE id = ?", firstId);
+
+        relay.relayBatch();
+        assertTrue(messagesFor(order.getId()).isEmpty());
+
+        jdbcTemplate.update("INSERT INTO order_outbox (id, aggregate_id, event_type, payload, created_at) "
+                + "SELECT id, aggregate_id, event_type, payload, created_at "
+                + "FROM order_outbox_dead_letter WHERE id = ?", firstId);
+        jdbcTemplate.update("DELETE FROM order_outbox_dead_letter WHERE id = ?", firstId);
+        relay.relayBatch();
+
+        assertEquals(List.of(OutboxMessage.ORDER_CREATED, OutboxMessage.ORDER_STATUS_CHANGED),
+                messagesFor(order.getId()).stream().map(OutboxMessage::getEventType).toList());
+    }
+
+    private void update(Long orderId, Consumer<Order> change) {
+        transactionTemplate.executeWithoutResult(tx ->
+                change.accept(orderRepository.findById(orderId).orElseThrow()));
+    }
+
+    private List<OutboxMessage> messagesFor(Long orderId) {
+        return sink.getMessages().stream()
+                .filter(message -> message.getAggregateId().equals(orderId))
+                .toList();
+    }
+
+    private int attemptsOf(Long messageId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT attempts FROM order_outbox WHERE id = ?", Integer.class, messageId);
+    }
+
+    /** Makes every backing-off message due, as if its delay had passed. */
+    private void elapseBackoff() {
+        jdbcTemplate.update("UPDATE order_outbox SET next_attempt_at = ? WHERE next_attempt_at IS NOT NULL",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+    }
+
+    private int pendingFor(Long orderId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_outbox WHERE aggregate_id = ?", Integer.class, orderId);
+    }
+
+    private static Order newOrder() {
+        Order order = new Order();
+        order.setCustomerId(1L);
+        order.setCustomerName("John Doe");
+        order.setOrderDate(LocalDateTime.of(2026, 2, 1, 9, 0));
+        order.setStatus(OrderStatus.CREATED);
+        order.setTotalAmount(120.0);
+        return order;
+    }
+}
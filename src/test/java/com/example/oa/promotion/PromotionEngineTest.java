@@ -0,0 +1,163 @@
+package com.example.oa.promotion;
+
+import com.example.oa.cart.CartStore;
+import com.example.oa.cart.CartTotals;
+import com.example.oa.entity.CartItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the promotion engine behind GET /api/cart/pricing.
+ *
+ * This test validates that:
+ * - Percent-off and buy-X-get-Y product rules apply per line, the best one winning
+ * - The highest order threshold reached by the discounted subtotal applies
+ * - Rules outside their active window are ignored
+ * - Pricing is cached until the cart or the rules change
+ * - Malformed rules are rejected by the table and skipped when compiled
+ */
+@SpringBootTest(properties = {
+        "oa.promotions.reload-interval-ms=3600000",
+        "oa.cart.summary.reconcile-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class PromotionEngineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PromotionEngine promotionEngine;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartTotals cartTotals;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void loadCart() {
+        // Cart fixtures: 2 x Laptop 999.99, 1 x Mouse 29.99, 1 x Keyboard 79.99 = 2109.96
+        cartTotals.recompute();
+        promotionEngine.reload();
+    }
+
+    @Test
+    public void testProductAndThresholdRules() throws Exception {
+        insertRule("Laptop 10%", "PERCENT_OFF_PRODUCT", 1L, 10.0, null, null, null, null);
+        insertRule("Laptop 5%", "PERCENT_OFF_PRODUCT", 1L, 5.0, null, null, null, null);
+        insertRule("Spend 1000 save 20", "ORDER_THRESHOLD", null, null, null, null, 1000.0, 20.0);
+        insertRule("Spend 2000 save 5%", "ORDER_THRESHOLD", null, 5.0, null, null, 2000.0, null);
+        promotionEngine.reload();
+
+        // 1999.98 - 200.00 on laptops = 1909.96 reaches the 1000 tier only
+        mockMvc.perform(get("/api/cart/pricing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subtotal", closeTo(2109.96, 0.001)))
+                .andExpect(jsonPath("$.discount", closeTo(220.00, 0.001)))
+                .andExpect(jsonPath("$.total", closeTo(1889.96, 0.001)))
+                .andExpect(jsonPath("$.lines[0].discount", closeTo(200.00, 0.001)))
+                .andExpect(jsonPath("$.lines[0].promotion", is("Laptop 10%")))
+                .andExpect(jsonPath("$.lines[1].promotion", nullValue()))
+                .andExpect(jsonPath("$.promotions", contains("Laptop 10%", "Spend 1000 save 20")));
+    }
+
+    @Test
+    public void testBuyXGetYAndActiveWindow() {
+        insertRule("Mice 2+1", "BUY_X_GET_Y", 2L, null, 2, 1, null, null);
+        jdbcTemplate.update("INSERT INTO promotion_rules (name, rule_type, product_id, percent_off, starts_at) "
+                + "VALUES ('Keyboards next week', 'PERCENT_OFF_PRODUCT', 3, 50, ?)", LocalDateTime.now().plusDays(7));
+        promotionEngine.reload();
+
+        CartItem mouse = cartStore.findById(2L).orElseThrow();
+        mouse.setQuantity(7);
+        cartStore.save(mouse);
+
+        CartPricing pricing = promotionEngine.priceCart();
+        CartPricing.Line mice = pricing.lines().get(1);
+        assertEquals(new BigDecimal("59.98"), mice.discount());
+        assertNull(pricing.lines().get(2).promotion());
+        assertEquals(List.of("Mice 2+1"), pricing.promotions());
+    }
+
+    @Test
+    public void testPricingIsCachedUntilCartOrRulesChange() {
+        CartPricing first = promotionEngine.priceCart();
+        assertSame(first, promotionEngine.priceCart());
+        assertEquals(new BigDecimal("2109.96"), first.total());
+
+        CartItem keyboard = cartStore.findById(3L).orElseThrow();
+        keyboard.setQuantity(2);
+        cartStore.save(keyboard);
+        CartPricing afterCartChange = promotionEngine.priceCart();
+        assertNotSame(first, afterCartChange);
+        assertEquals(new BigDecimal("2189.95"), afterCartChange.total());
+
+        promotionEngine.reload();
+        assertSame(afterCartChange, promotionEngine.priceCart());
+
+        insertRule("Keyboard 25%", "PERCENT_OFF_PRODUCT", 3L, 25.0, null, null, null, null);
+        promotionEngine.reload();
+        assertEquals(new BigDecimal("2149.95"), promotionEngine.priceCart().total());
+    }
+
+    @Test
+    public void testMalformedRulesAreSkipped() {
+        List<PromotionRule> rules = List.of(
+                rule(1, "Laptop 10%", PromotionType.PERCENT_OFF_PRODUCT, 1L, 10.0, null, null, null, null),
+                rule(2, "No minimum", PromotionType.ORDER_THRESHOLD, null, null, null, null, null, 20.0),
+                rule(3, "Nothing free", PromotionType.BUY_X_GET_Y, 2L, null, 0, 0, null, null),
+                rule(4, "No percent", PromotionType.PERCENT_OFF_PRODUCT, 3L, null, null, null, null, null),
+                rule(5, "Keyboard 150%", PromotionType.PERCENT_OFF_PRODUCT, 3L, 150.0, null, null, null, null),
+                rule(6, "Unknown type", null, 3L, 50.0, null, null, null, null));
+
+        CartPricing pricing = CompiledPromotions.compile(rules, LocalDateTime.now()).price(cartStore.findAll());
+        assertEquals(new BigDecimal("200.00"), pricing.discount());
+        assertEquals(new BigDecimal("1909.96"), pricing.total());
+        assertEquals(List.of("Laptop 10%"), pricing.promotions());
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                insertRule("Keyboard 150%", "PERCENT_OFF_PRODUCT", 3L, 150.0, null, null, null, null));
+        assertThrows(DataIntegrityViolationException.class, () ->
+                insertRule("Nothing free", "BUY_X_GET_Y", 2L, null, 0, 0, null, null));
+        assertThrows(DataIntegrityViolationException.class, () ->
+                insertRule("No minimum", "ORDER_THRESHOLD", null, null, null, null, null, 20.0));
+    }
+
+    private static PromotionRule rule(long id, String name, PromotionType type, Long productId, Double percentOff,
+                                      Integer buyQuantity, Integer freeQuantity, Double minOrderAmount,
+                                      Double amountOff) {
+        return new PromotionRule(id, name, type, productId, percentOff, buyQuantity, freeQuantity,
+                minOrderAmount, amountOff, null, null);
+    }
+
+    private void insertRule(String name, String type, Long productId, Double percentOff, Integer buyQuantity,
+                            Integer freeQuantity, Double minOrderAmount, Double amountOff) {
+        jdbcTemplate.update("INSERT INTO promotion_rules (name, rule_type, product_id, percent_off, buy_quantity, "
+                        + "free_quantity, min_order_amount, amount_off) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                name, type, productId, percentOff, buyQuantity, freeQuantity, minOrderAmount, amountOff);
+    }
+}
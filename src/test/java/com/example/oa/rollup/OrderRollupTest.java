@@ -0,0 +1,150 @@
+package com.example.oa.rollup;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the order rollups and GET /api/analytics/rollups/*.
+ *
+ * This test validates that:
+ * - Order inserts, status changes, cancellations and amount changes update both rollups on commit
+ * - Rolled-back changes leave the rollups untouched
+ * - Reconciliation finds rollup rows that disagree with orders and orders_archive and repairs them
+ * - Invalid ranges and limits are rejected
+ */
+@SpringBootTest(properties = "oa.rollup.reconcile.interval-ms=3600000")
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderRollupTest {
+
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2025, 2, 3, 9, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderRollupReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void alignRollups() {
+        reconciler.reconcile();
+    }
+
+    @Test
+    public void testOrderWritesMaintainRollups() throws Exception {
+        Order first = orderRepository.save(order(901L, DAY_ONE, 100.10));
+        Order second = orderRepository.save(order(901L, DAY_ONE.plusHours(3), 50.05));
+        Order third = orderRepository.save(order(902L, DAY_ONE.plusDays(1), 20.00));
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            orderRepository.findById(first.getId()).orElseThrow().setStatus(OrderStatus.CONFIRMED);
+            orderRepository.findById(second.getId()).orElseThrow().setStatus(OrderStatus.CANCELLED);
+        });
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(third.getId()).orElseThrow().setTotalAmount(25.50));
+        transactionTemplate.executeWithoutResult(tx -> {
+            orderRepository.findById(first.getId()).orElseThrow().setStatus(OrderStatus.SHIPPED);
+            orderRepository.flush();
+            tx.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/api/analytics/rollups/daily").param("from", "2025-02-03").param("to", "2025-02-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].date", is("2025-02-03")))
+                .andExpect(jsonPath("$[0].status", is("CONFIRMED")))
+                .andExpect(jsonPath("$[0].orderCount", is(1)))
+                .andExpect(jsonPath("$[0].revenue", is(100.10)))
+                .andExpect(jsonPath("$[1].status", is("CANCELLED")))
+                .andExpect(jsonPath("$[1].revenue", is(50.05)))
+                .andExpect(jsonPath("$[2].date", is("2025-02-04")))
+                .andExpect(jsonPath("$[2].status", is("CREATED")))
+                .andExpect(jsonPath("$[2].revenue", is(25.50)));
+        mockMvc.perform(get("/api/analytics/rollups/daily")
+                        .param("from", "2025-02-03").param("to", "2025-02-04").param("status", "CREATED"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].date", is("2025-02-04")));
+
+        mockMvc.perform(get("/api/analytics/rollups/customers/901"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount", is(1)))
+                .andExpect(jsonPath("$.lifetimeSpend", is(100.10)));
+        mockMvc.perform(get("/api/analytics/rollups/customers/903"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount", is(0)))
+                .andExpect(jsonPath("$.lifetimeSpend", is(0.0)));
+        mockMvc.perform(get("/api/analytics/rollups/customers").param("limit", "2"))
+                .andExpect(jsonPath("$[0].customerId", is(901)))
+                .andExpect(jsonPath("$[1].customerId", is(902)))
+                .andExpect(jsonPath("$[1].lifetimeSpend", is(25.50)));
+
+        assertTrue(reconciler.reconcile().isClean());
+    }
+
+    @Test
+    public void testReconcileRepairsDrift() throws Exception {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, customer_name, order_date, status, total_amount) "
+                + "VALUES (11, 911, 'Plain Sql', '2025-03-01T10:00:00', 'DELIVERED', 30.00), "
+                + "(12, 911, 'Plain Sql', '2025-03-01T11:00:00', 'CANCELLED', 5.00)");
+        jdbcTemplate.update("INSERT INTO orders_archive (id, customer_id, customer_name, order_date, status, "
+                + "total_amount, archived_at) VALUES (13, 911, 'Plain Sql', '2025-03-01T12:00:00', 'DELIVERED', "
+                + "12.25, CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO customer_spend_rollup (customer_id, order_count, spend_cents) "
+                + "VALUES (912, 4, 99900)");
+
+        OrderRollupReconciler.Result result = reconciler.reconcile();
+        assertEquals(2, result.dailyMismatches());
+        assertEquals(2, result.customerMismatches());
+        assertTrue(result.repaired());
+        assertTrue(reconciler.reconcile().isClean());
+
+        mockMvc.perform(get("/api/analytics/rollups/daily").param("from", "2025-03-01").param("to", "2025-03-01"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("DELIVERED")))
+                .andExpect(jsonPath("$[0].orderCount", is(2)))
+                .andExpect(jsonPath("$[0].revenue", is(42.25)));
+        mockMvc.perform(get("/api/analytics/rollups/customers/911"))
+                .andExpect(jsonPath("$.orderCount", is(2)))
+                .andExpect(jsonPath("$.lifetimeSpend", is(42.25)));
+        mockMvc.perform(get("/api/analytics/rollups/customers/912"))
+                .andExpect(jsonPath("$.orderCount", is(0)));
+    }
+
+    @Test
+    public void testInvalidRequestsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/analytics/rollups/daily").param("from", "2026-02-01").param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analytics/rollups/customers").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Order order(Long customerId, LocalDateTime orderDate, double totalAmount) {
+        return new Order(null, customerId, orderDate, OrderStatus.CREATED, totalAmount, "Customer " + customerId);
+    }
+}
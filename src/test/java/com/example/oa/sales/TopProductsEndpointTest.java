@@ -0,0 +1,68 @@
+package com.example.oa.sales;
+
+import com.example.oa.cart.CartStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for GET /api/products/top.
+ *
+ * This test validates that:
+ * - Committed checkouts are counted, rolled-back ones are not
+ * - window and limit are validated
+ */
+@SpringBootTest(properties = "oa.sales.top.capacity=50")
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class TopProductsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testCommittedCheckoutsAreRanked() throws Exception {
+        transactionTemplate.executeWithoutResult(tx -> {
+            cartStore.checkout(41L);
+            tx.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(tx -> cartStore.checkout(42L));
+
+        mockMvc.perform(get("/api/products/top").param("window", "hour").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].productId", is(1)))
+                .andExpect(jsonPath("$[0].productName", is("Laptop")))
+                .andExpect(jsonPath("$[0].quantity", is(2)))
+                .andExpect(jsonPath("$[0].maxError", is(0)))
+                .andExpect(jsonPath("$[1].quantity", is(1)));
+        mockMvc.perform(get("/api/products/top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    public void testInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/products/top").param("window", "week"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/top").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.oa.sales;
+
+import com.example.oa.entity.CartItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TopSellers and its Space-Saving summaries.
+ *
+ * This test validates that:
+ * - The best sellers of a skewed stream are found with far fewer counters than products
+ * - Every reported quantity is within maxError of the true quantity
+ * - Sales leave the hour and day rankings once they are older than the window
+ */
+public class TopSellersTest {
+
+    private static final long START = Instant.parse("2026-10-19T12:00:00Z").toEpochMilli();
+
+    @Test
+    public void testHeavyHittersOfSkewedStream() {
+        AtomicLong now = new AtomicLong(START);
+        TopSellers topSellers = new TopSellers(50, now::get);
+        Map<Long, Long> truth = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            // Power-law skew over 500 products: a few very popular ones
+            long productId = (long) Math.floor(Math.pow(500, random.nextDouble()));
+            int quantity = 1 + random.nextInt(3);
+            truth.merge(productId, (long) quantity, Long::sum);
+            topSellers.record(List.of(line(productId, quantity)));
+            // 100 minutes: spread over two hour buckets
+            now.addAndGet(300);
+        }
+
+        List<TopSellers.TopSeller> top = topSellers.lastDay(5);
+        List<Long> expected = truth.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(5)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(expected, top.stream().map(TopSellers.TopSeller::productId).toList());
+        for (TopSellers.TopSeller seller : topSellers.lastDay(50)) {
+            assertTrue(Math.abs(seller.quantity() - truth.get(seller.productId())) <= seller.maxError(),
+                    () -> "product " + seller.productId());
+        }
+    }
+
+    @Test
+    public void testSalesLeaveTheWindows() {
+        AtomicLong now = new AtomicLong(START);
+        TopSellers topSellers = new TopSellers(10, now::get);
+        topSellers.record(List.of(line(1L, 3), line(2L, 1)));
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        topSellers.record(List.of(line(2L, 5)));
+
+        assertEquals(List.of(new TopSellers.TopSeller(2L, "Product 2", 6, 0),
+                new TopSellers.TopSeller(1L, "Product 1", 3, 0)), topSellers.lastHour(10));
+
+        now.addAndGet(Duration.ofMinutes(45).toMillis());
+        assertEquals(List.of(new TopSellers.TopSeller(2L, "Product 2", 6, 0),
+                new TopSellers.TopSeller(1L, "Product 1", 3, 0)), topSellers.lastDay(10));
+        assertEquals(List.of(new TopSellers.TopSeller(2L, "Product 2", 5, 0)), topSellers.lastHour(10));
+
+        now.addAndGet(Duration.ofHours(25).toMillis());
+        assertTrue(topSellers.lastDay(10).isEmpty());
+        assertTrue(topSellers.lastHour(10).isEmpty());
+    }
+
+    private static CartItem line(long productId, int quantity) {
+        return new CartItem(null, 42L, productId, quantity, 9.99, "Product " + productId);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.oa.search;
+
+import com.example.oa.cart.CartStore;
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for order search (GET /api/orders/search).
+ *
+ * This test validates that:
+ * - Orders are found by a case-insensitive part of the customer name, newest first
+ * - Checked-out orders are found by their items' product names
+ * - New and renamed orders are searchable right after commit
+ * - POST /actuator/searchindex picks up orders loaded around the events
+ * - Orders deleted around the events are left out of results and pruned from the index
+ * - Short queries and oversized pages are rejected
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = {"/test-data/base-data.sql", "/test-data/orders.sql", "/test-data/cart-items.sql"},
+     executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/test-data/cleanup.sql",
+     executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderSearchIndex orderSearchIndex;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void indexFixtures() {
+        // The fixtures are inserted around the events
+        orderSearchIndex.rebuild();
+    }
+
+    @Test
+    public void testSearchByCustomerName() throws Exception {
+        mockMvc.perform(get("/api/orders/search").param("q", "DOE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", not(empty())))
+                .andExpect(jsonPath("$.orders[*].customerName", everyItem(containsStringIgnoringCase("doe"))))
+                .andExpect(jsonPath("$.missingIds", empty()));
+
+        mockMvc.perform(get("/api/orders/search").param("q", "nobody"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", empty()));
+    }
+
+    @Test
+    public void testIndexFollowsWrites() throws Exception {
+        Order order = transactionTemplate.execute(tx -> orderRepository.save(
+                new Order(null, 3L, LocalDateTime.now(), OrderStatus.CREATED, 0.0, "Zoe Quackenbush")));
+        transactionTemplate.executeWithoutResult(tx -> cartStore.checkout(order.getId()));
+
+        mockMvc.perform(get("/api/orders/search").param("q", "quacken"))
+                .andExpect(jsonPath("$.orders[0].id", is(order.getId().toString())));
+        mockMvc.perform(get("/api/orders/search").param("q", "keyboard"))
+                .andExpect(jsonPath("$.orders", hasSize(1)))
+                .andExpect(jsonPath("$.orders[0].id", is(order.getId().toString())));
+
+        transactionTemplate.executeWithoutResult(tx ->
+                orderRepository.findById(order.getId()).orElseThrow().setCustomerName("Zoe Smith"));
+        assertTrue(orderSearchIndex.search("quacken", 10).isEmpty());
+        assertTrue(orderSearchIndex.search("zoe smith", 10).contains(order.getId()));
+    }
+
+    @Test
+    public void testRebuildEndpointPicksUpBulkLoads() throws Exception {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, customer_name, order_date, status, total_amount) "
+                + "VALUES (90, 3, 'Bulk Loaded', '2026-01-20T10:00:00', 'CREATED', 12.00)");
+        mockMvc.perform(get("/api/orders/search").param("q", "bulk load"))
+                .andExpect(jsonPath("$.orders", empty()));
+
+        mockMvc.perform(post("/actuator/searchindex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.indexedOrders", is(6)));
+        mockMvc.perform(get("/actuator/searchindex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.indexedOrders", is(6)));
+
+        mockMvc.perform(get("/api/orders/search").param("q", "bulk load"))
+                .andExpect(jsonPath("$.orders[*].id", contains(90)));
+    }
+
+    @Test
+    public void testDeletedOrdersArePruned() throws Exception {
+        int indexed = orderSearchIndex.size();
+        jdbcTemplate.update("DELETE FROM orders WHERE customer_name = 'John Doe'");
+
+        mockMvc.perform(get("/api/orders/search").param("q", "doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].customerName", everyItem(containsStringIgnoringCase("doe"))))
+                .andExpect(jsonPath("$.missingIds", empty()));
+
+        assertTrue(orderSearchIndex.size() < indexed);
+        assertTrue(orderSearchIndex.search("john doe", 10).isEmpty());
+    }
+
+    @Test
+    public void testInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/orders/search").param("q", "ab"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/search").param("q", "doe").param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+}
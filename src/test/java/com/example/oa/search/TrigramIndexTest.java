@@ -0,0 +1,65 @@
+package com.example.oa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TrigramIndex.
+ *
+ * This test validates that:
+ * - Substrings are found case-insensitively and with normalized whitespace, newest id first
+ * - Replacing a document's text removes its old trigrams
+ * - Removed documents are no longer found
+ * - Queries whose trigrams all occur, but not as one substring, do not match
+ */
+public class TrigramIndexTest {
+
+    @Test
+    public void testSubstringSearch() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "John Doe");
+        index.put(2, "Jane  Doe");
+        index.put(3, "Alice Johnson");
+
+        assertEquals(List.of(3L, 1L), index.search("JOHN", 10));
+        assertEquals(List.of(2L), index.search("NE   DOE", 10));
+        assertEquals(List.of(2L), index.search("doe", 1));
+        assertEquals(List.of(), index.search("smith", 10));
+    }
+
+    @Test
+    public void testReplaceRemovesOldText() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "John Doe");
+        index.put(1, "Jack Black");
+
+        assertEquals(List.of(), index.search("john", 10));
+        assertEquals(List.of(1L), index.search("black", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testRemove() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "John Doe");
+        index.put(2, "Jane Doe");
+        index.remove(1);
+        index.remove(7);
+
+        assertEquals(List.of(2L), index.search("doe", 10));
+        assertEquals(List.of(), index.search("john", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testAllTrigramsPresentButNotContiguous() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "abcd xbcy");
+
+        assertEquals(List.of(), index.search("abcy", 10));
+        assertEquals(List.of(1L), index.search("xbcy", 10));
+    }
+}
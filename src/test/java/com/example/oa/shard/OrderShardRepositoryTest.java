@@ -0,0 +1,204 @@
+package com.example.oa.shard;
+
+import com.example.oa.entity.Order;
+import com.example.oa.entity.OrderStatus;
+import com.example.oa.event.OrdersRewrittenEvent;
+import com.example.oa.exception.BadRequestException;
+import com.example.oa.projection.FieldSelection;
+import com.example.oa.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the sharded order reads (OrderShardRepository, OrderShardSync).
+ *
+ * This test validates that:
+ * - Orders saved through JPA are copied to their customer's shard, and moved or dropped with them
+ * - The change feed and outbox still see those writes
+ * - Cross-shard pages are merged in the requested sort and filtered by status and date
+ * - Live-tier pages of findAcrossTiers are read from the shards; deep pages fall back to the primary
+ * - Pages deeper than the scatter window are rejected by findAcrossShards
+ */
+@SpringBootTest(properties = {
+        "oa.orders.sharding.enabled=true",
+        "oa.orders.sharding.shard-count=3",
+        "oa.orders.sharding.max-scatter-window=20",
+        "oa.outbox.relay.interval-ms=3600000",
+        // Own database: shards are rebuilt from it on startup
+        "spring.datasource.url=jdbc:h2:mem:shardtest"
+})
+@Sql(scripts = "/test-data/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OrderShardRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderShards shards;
+
+    @Autowired
+    private OrderShardSync shardSync;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    public void clearShards() {
+        shards.scatter(shard -> shard.getJdbcOperations().update("DELETE FROM orders"));
+        jdbcTemplate.update("DELETE FROM order_outbox");
+    }
+
+    @Test
+    public void testJpaWritesAreCopiedToCustomerShard() {
+        List<Order> saved = saveOrders(12);
+
+        for (Order order : saved) {
+            assertEquals(List.of(shards.shardForCustomer(order.getCustomerId())), shardsHolding(order.getId()));
+            assertEquals(order, orderRepository.findOnShardById(order.getId()).orElseThrow());
+        }
+        Page<Order> customerOrders = orderRepository.findOnShardByCustomerId(4L,
+                PageRequest.of(0, 10, Sort.by("orderDate")));
+        assertEquals(2, customerOrders.getTotalElements());
+        assertTrue(customerOrders.getContent().stream().allMatch(order -> order.getCustomerId() == 4L));
+
+        Order first = saved.get(0);
+        update(first.getId(), o -> o.setStatus(OrderStatus.CONFIRMED));
+        assertEquals(OrderStatus.CONFIRMED, orderRepository.findOnShardById(first.getId()).orElseThrow().getStatus());
+
+        update(first.getId(), o -> o.setCustomerId(2L));
+        assertEquals(List.of(shards.shardForCustomer(2L)), shardsHolding(first.getId()));
+
+        // Writes still go through the primary's change tracking
+        assertEquals(first.getId(), jdbcTemplate.queryForObject(
+                "SELECT order_id FROM order_changes ORDER BY change_seq DESC LIMIT 1", Long.class));
+        assertEquals(13, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_outbox", Integer.class));
+    }
+
+    @Test
+    public void testRewrittenOrdersLeaveShards() {
+        List<Order> saved = saveOrders(3);
+        Long gone = saved.get(1).getId();
+        jdbcTemplate.update("DELETE FROM orders WHERE id = ?", gone);
+
+        eventPublisher.publishEvent(new OrdersRewrittenEvent(List.of(gone)));
+
+        assertTrue(shardsHolding(gone).isEmpty());
+        assertTrue(orderRepository.findOnShardById(saved.get(0).getId()).isPresent());
+    }
+
+    @Test
+    public void testCrossShardPagesAreMergedInSortOrder() {
+        List<Order> saved = saveOrders(12);
+        List<Order> byAmount = new ArrayList<>(saved);
+        byAmount.sort(Comparator.comparing(Order::getTotalAmount).reversed().thenComparing(Order::getId));
+
+        Page<Order> page = orderRepository.findAcrossShards(null, null, null,
+                PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "totalAmount")));
+        assertEquals(12, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        assertEquals(byAmount.subList(5, 10), page.getContent());
+
+        Page<Order> filtered = orderRepository.findAcrossShards(OrderStatus.SHIPPED, START.plusDays(2), null,
+                PageRequest.of(0, 10, Sort.by("orderDate")));
+        List<Order> expected = saved.stream()
+                .filter(order -> order.getStatus() == OrderStatus.SHIPPED)
+                .filter(order -> !order.getOrderDate().isBefore(START.plusDays(2)))
+                .sorted(Comparator.comparing(Order::getOrderDate))
+                .toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, filtered.getContent());
+        assertEquals(expected.size(), filtered.getTotalElements());
+    }
+
+    @Test
+    public void testLiveTierPagesAreReadFromShards() {
+        List<Order> saved = saveOrders(12);
+        // A change made behind the sync's back shows which side served the page
+        Order marked = saved.get(0);
+        shards.shard(shards.shardForCustomer(marked.getCustomerId())).getJdbcOperations()
+                .update("UPDATE orders SET customer_name = 'On shard' WHERE id = ?", marked.getId());
+
+        Page<Order> page = orderRepository.findAcrossTiers(OrderStatus.CREATED, null, null,
+                PageRequest.of(0, 10, Sort.by("orderDate")));
+        assertEquals(6, page.getTotalElements());
+        assertEquals("On shard", page.getContent().get(0).getCustomerName());
+
+        Page<Map<String, Object>> fields = orderRepository.findFieldsAcrossTiers(
+                FieldSelection.parse("id,customerName", FieldSelection.ORDER_FIELDS), OrderStatus.CREATED,
+                null, null, PageRequest.of(0, 10, Sort.by("orderDate")));
+        assertEquals(List.of("id", "customerName"), List.copyOf(fields.getContent().get(0).keySet()));
+        assertEquals("On shard", fields.getContent().get(0).get("customerName"));
+
+        // Deeper than the scatter window: served by the primary instead of rejected
+        Page<Order> deep = orderRepository.findAcrossTiers(OrderStatus.CREATED, null, null,
+                PageRequest.of(0, 25, Sort.by("orderDate")));
+        assertEquals("Customer " + marked.getCustomerId(), deep.getContent().get(0).getCustomerName());
+
+        assertEquals(12, shardSync.rebuild());
+        assertEquals("Customer " + marked.getCustomerId(),
+                orderRepository.findOnShardById(marked.getId()).orElseThrow().getCustomerName());
+    }
+
+    @Test
+    public void testDeepCrossShardPageIsRejected() {
+        assertThrows(BadRequestException.class, () -> orderRepository.findAcrossShards(null, null, null,
+                PageRequest.of(4, 5, Sort.by("orderDate"))));
+        assertThrows(BadRequestException.class, () -> orderRepository.findAcrossShards(null, null, null,
+                PageRequest.of(0, 5, Sort.by("unknown"))));
+    }
+
+    private List<Order> saveOrders(int count) {
+        OrderStatus[] statuses = {OrderStatus.CREATED, OrderStatus.SHIPPED};
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long customerId = i % 6 + 1;
+            Order order = new Order(null, customerId, START.plusDays(i), statuses[i % 2],
+                    100.0 + (i * 37) % 11, "Customer " + customerId);
+            saved.add(orderRepository.save(order));
+        }
+        return saved;
+    }
+
+    private void update(Long orderId, Consumer<Order> change) {
+        transactionTemplate.executeWithoutResult(tx ->
+                change.accept(orderRepository.findById(orderId).orElseThrow()));
+    }
+
+    private List<Integer> shardsHolding(Long orderId) {
+        List<Integer> holding = new ArrayList<>();
+        for (int i = 0; i < shards.getShardCount(); i++) {
+            Integer count = shards.shard(i).getJdbcOperations()
+                    .queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, orderId);
+            if (count > 0) {
+                holding.add(i);
+            }
+        }
+        return holding;
+    }
+}
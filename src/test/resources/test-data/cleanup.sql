@@ -3,3 +3,9 @@ DELETE FROM cart_items;
 DELETE FROM orders;
 DELETE FROM products;
 DELETE FROM customers;
+DELETE FROM order_status_history;
+DELETE FROM order_changes;
+DELETE FROM orders_archive;
+DELETE FROM promotion_rules;
+DELETE FROM order_daily_rollup;
+DELETE FROM customer_spend_rollup;